@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Compares a normal cold start of the shaded jar with a start restored from a CRaC checkpoint taken after priming.
+#
+# Usage: scripts/crac_benchmark.sh <request.json> [iterations]
+#
+# Needs a JDK with CRaC support, e.g. a CRaC build of Azul Zulu, as the active java. The checkpoint is taken once by
+# CracPriming, which primes the handler code and, in every restored process, handles the request read from the file.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUEST_FILE=$(cd "$(dirname "${1:?usage: $0 <request.json> [iterations]}")" && pwd)/$(basename "$1")
+ITERATIONS=${2:-10}
+JAR=$(pwd)/target/aws-msk-serverlesscluster-handler-1.0-SNAPSHOT.jar
+MAIN_CLASS=software.amazon.msk.serverlesscluster.HandlerWrapperExecutable
+PRIMING_CLASS=software.amazon.msk.serverlesscluster.CracPriming
+REQUEST=$(cat "$REQUEST_FILE")
+
+if [ ! -f "$JAR" ]; then
+  echo "build $JAR with mvn package first" >&2
+  exit 1
+fi
+
+measure() {
+  local label=$1
+  shift
+  local samples=()
+  for _ in $(seq "$ITERATIONS"); do
+    local started finished
+    started=$(date +%s%N)
+    "$@" > /dev/null 2>&1 || true
+    finished=$(date +%s%N)
+    samples+=($(( (finished - started) / 1000000 )))
+  done
+  printf '%s\n' "${samples[@]}" | sort -n | awk -v label="$label" '
+    { values[NR] = $1; total += $1 }
+    END {
+      printf "%-8s runs=%d mean=%.0fms p50=%dms max=%dms\n", label, NR, total / NR, values[int((NR + 1) / 2)], values[NR]
+    }'
+}
+
+# the executable writes its response to a file in the working directory, keep those out of the tree
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+cd "$WORK_DIR"
+
+# the checkpointed process is stopped once the checkpoint is written
+java -XX:CRaCCheckpointTo="$WORK_DIR/checkpoint" -cp "$JAR" "$PRIMING_CLASS" "$REQUEST_FILE" > checkpoint.log 2>&1 || true
+if [ ! -d "$WORK_DIR/checkpoint" ]; then
+  echo "no checkpoint written, is the active java a CRaC JDK?" >&2
+  cat checkpoint.log >&2
+  exit 1
+fi
+
+measure cold java -cp "$JAR" "$MAIN_CLASS" "$REQUEST"
+measure restored java -XX:CRaCRestoreFrom="$WORK_DIR/checkpoint"
@@ -0,0 +1,253 @@
+#!/usr/bin/env python3
+"""Generates ResourceModelSchemaValidator.java from the resource schema.
+
+The generated validator checks a ResourceModel against the constraints of the schema with plain getter calls and
+precompiled java.util.regex.Pattern constants, so requests are validated without walking the JSON schema document
+or reflecting over the model at runtime.
+
+Usage: generate_schema_validator.py <schema.json> <output source root> <java package>
+"""
+import json
+import os
+import re
+import sys
+
+CLASS_NAME = "ResourceModelSchemaValidator"
+ROOT_CLASS = "ResourceModel"
+
+
+def java_string(value):
+    return '"' + value.replace("\\", "\\\\").replace('"', '\\"') + '"'
+
+
+def getter(property_name):
+    return "get" + property_name[0].upper() + property_name[1:]
+
+
+def ref_name(reference):
+    return reference.split("/")[-1]
+
+
+class Generator(object):
+    def __init__(self, schema, package):
+        self.schema = schema
+        self.package = package
+        self.definitions = schema.get("definitions", {})
+        self.patterns = []
+        self.imports = {"java.util.ArrayList", "java.util.List"}
+
+    def pattern_constant(self, owner, regex):
+        name = "%s_PATTERN_%d" % (re.sub("[^0-9A-Za-z]+", "_", owner).strip("_").upper(), len(self.patterns))
+        self.patterns.append((name, regex))
+        self.imports.add("java.util.regex.Pattern")
+        return name
+
+    def resolve(self, prop):
+        if "$ref" in prop:
+            return dict(self.definitions[ref_name(prop["$ref"])], **{"$definition": ref_name(prop["$ref"])})
+        return prop
+
+    def generate(self):
+        methods = [self.object_method(ROOT_CLASS, self.schema)]
+        for name in sorted(self.definitions):
+            if self.definitions[name].get("type") == "object" and "properties" in self.definitions[name]:
+                methods.append(self.object_method(name, self.definitions[name]))
+
+        lines = [
+            "// Generated by scripts/generate_schema_validator.py from aws-msk-serverlesscluster.json, do not edit.",
+            "package %s;" % self.package,
+            "",
+        ]
+        lines += ["import %s;" % name for name in sorted(self.imports)]
+        lines += [
+            "",
+            "/**",
+            " * Validates a {@link %s} against the constraints of the %s resource schema." % (
+                ROOT_CLASS, self.schema["typeName"]),
+            " */",
+            "final class %s {" % CLASS_NAME,
+        ]
+        for name, regex in self.patterns:
+            lines.append("    private static final Pattern %s = Pattern.compile(%s);" % (name, java_string(regex)))
+        lines += [
+            "",
+            "    private %s() {" % CLASS_NAME,
+            "    }",
+            "",
+            "    /**",
+            "     * Validates a resource model, including the properties the schema requires on create",
+            "     *",
+            "     * @param model resource model",
+            "     * @return violation messages, empty when the model satisfies the schema",
+            "     */",
+            "    static List<String> validate(final %s model) {" % ROOT_CLASS,
+            "        final List<String> violations = new ArrayList<>();",
+            "        validate%s(model, \"\", violations);" % ROOT_CLASS,
+            "        return violations;",
+            "    }",
+        ]
+        for method in methods:
+            lines.append("")
+            lines += method
+        lines.append("}")
+        return "\n".join(lines) + "\n"
+
+    def object_method(self, class_name, definition):
+        body = [
+            "    private static void validate%s(final %s value, final String path, final List<String> violations) {"
+            % (class_name, class_name),
+        ]
+        required = set(definition.get("required", []))
+        for prop_name, raw_prop in definition.get("properties", {}).items():
+            prop = self.resolve(raw_prop)
+            checks = self.property_checks(class_name, prop_name, prop, "value.%s()" % getter(prop_name), 3)
+            if prop_name in required:
+                body.append("        if (value.%s() == null) {" % getter(prop_name))
+                body.append("            violations.add(path + \"%s is required\");" % prop_name)
+                if checks:
+                    body.append("        } else {")
+                    body += checks
+                body.append("        }")
+            elif checks:
+                body.append("        if (value.%s() != null) {" % getter(prop_name))
+                body += checks
+                body.append("        }")
+        body.append("    }")
+        return body
+
+    def property_checks(self, owner, prop_name, prop, accessor, depth):
+        indent = "    " * depth
+        checks = []
+        prop_type = prop.get("type")
+        if "$definition" in prop:
+            checks.append("%svalidate%s(%s, path + \"%s.\", violations);" % (
+                indent, prop["$definition"], accessor, prop_name))
+        elif prop_type == "string":
+            checks += self.string_checks(owner + "_" + prop_name, prop, accessor, prop_name, indent)
+        elif prop_type == "array":
+            checks += self.array_checks(owner, prop_name, prop, accessor, indent)
+        elif prop_type == "object" and "patternProperties" in prop:
+            checks += self.map_checks(owner + "_" + prop_name, prop, accessor, prop_name, indent)
+        return checks
+
+    def string_checks(self, owner, prop, accessor, label, indent):
+        checks = []
+        min_length, max_length = prop.get("minLength"), prop.get("maxLength")
+        if min_length is not None and max_length is not None:
+            checks += [
+                "%sif (%s.length() < %d || %s.length() > %d) {" % (indent, accessor, min_length, accessor, max_length),
+                "%s    violations.add(path + \"%s must be between %d and %d characters long\");" % (
+                    indent, label, min_length, max_length),
+                "%s}" % indent,
+            ]
+        elif min_length is not None:
+            checks += [
+                "%sif (%s.length() < %d) {" % (indent, accessor, min_length),
+                "%s    violations.add(path + \"%s must be at least %d characters long\");" % (
+                    indent, label, min_length),
+                "%s}" % indent,
+            ]
+        elif max_length is not None:
+            checks += [
+                "%sif (%s.length() > %d) {" % (indent, accessor, max_length),
+                "%s    violations.add(path + \"%s must be at most %d characters long\");" % (
+                    indent, label, max_length),
+                "%s}" % indent,
+            ]
+        if "pattern" in prop:
+            constant = self.pattern_constant(owner, prop["pattern"])
+            checks += [
+                "%sif (!%s.matcher(%s).find()) {" % (indent, constant, accessor),
+                "%s    violations.add(path + \"%s does not match pattern \" + %s.pattern());" % (
+                    indent, label, constant),
+                "%s}" % indent,
+            ]
+        return checks
+
+    def array_checks(self, owner, prop_name, prop, accessor, indent):
+        checks = []
+        set_typed = prop.get("insertionOrder") is False
+        if "minItems" in prop:
+            checks += [
+                "%sif (%s.size() < %d) {" % (indent, accessor, prop["minItems"]),
+                "%s    violations.add(path + \"%s requires at least %d items\");" % (
+                    indent, prop_name, prop["minItems"]),
+                "%s}" % indent,
+            ]
+        if "maxItems" in prop:
+            checks += [
+                "%sif (%s.size() > %d) {" % (indent, accessor, prop["maxItems"]),
+                "%s    violations.add(path + \"%s supports at most %d items\");" % (
+                    indent, prop_name, prop["maxItems"]),
+                "%s}" % indent,
+            ]
+        if prop.get("uniqueItems") and not set_typed:
+            # set typed properties are unique by construction
+            self.imports.add("java.util.HashSet")
+            checks += [
+                "%sif (new HashSet<>(%s).size() != %s.size()) {" % (indent, accessor, accessor),
+                "%s    violations.add(path + \"%s must not contain duplicate items\");" % (indent, prop_name),
+                "%s}" % indent,
+            ]
+        items = self.resolve(prop.get("items", {}))
+        item_type = items["$definition"] if "$definition" in items else {
+            "string": "String", "integer": "Integer", "boolean": "Boolean"}.get(items.get("type"))
+        item_checks = self.property_checks(owner, prop_name + "[]", items, "item", len(indent) // 4 + 2)
+        if item_type and item_checks:
+            checks += [
+                "%sfor (final %s item : %s) {" % (indent, item_type, accessor),
+                "%s    if (item == null) {" % indent,
+                "%s        violations.add(path + \"%s[] must not contain null items\");" % (indent, prop_name),
+                "%s    } else {" % indent,
+            ]
+            checks += item_checks
+            checks += [
+                "%s    }" % indent,
+                "%s}" % indent,
+            ]
+        return checks
+
+    def map_checks(self, owner, prop, accessor, label, indent):
+        self.imports.add("java.util.Map")
+        constants = [self.pattern_constant(owner + "_KEY", regex) for regex in sorted(prop["patternProperties"])]
+        key_matches = " || ".join("%s.matcher(entry.getKey()).find()" % constant for constant in constants)
+        checks = [
+            "%sfor (final Map.Entry<String, String> entry : %s.entrySet()) {" % (indent, accessor),
+        ]
+        if prop.get("additionalProperties") is False:
+            checks += [
+                "%s    if (entry.getKey() == null || !(%s)) {" % (indent, key_matches),
+                "%s        violations.add(path + \"%s key \" + entry.getKey() + \" does not match pattern \"" % (
+                    indent, label),
+                "%s            + %s.pattern());" % (indent, constants[0]),
+                "%s    }" % indent,
+            ]
+        value_schema = list(prop["patternProperties"].values())[0]
+        value_checks = self.string_checks(owner + "_VALUE", value_schema, "entry.getValue()",
+                                          label + " value", indent + "        ")
+        if value_checks:
+            checks.append("%s    if (entry.getValue() != null) {" % indent)
+            checks += value_checks
+            checks.append("%s    }" % indent)
+        checks.append("%s}" % indent)
+        return checks
+
+
+def main(argv):
+    if len(argv) != 4:
+        sys.stderr.write(__doc__)
+        return 1
+    schema_path, output_root, package = argv[1:]
+    with open(schema_path) as schema_file:
+        schema = json.load(schema_file)
+    source = Generator(schema, package).generate()
+    output_dir = os.path.join(output_root, *package.split("."))
+    if not os.path.isdir(output_dir):
+        os.makedirs(output_dir)
+    with open(os.path.join(output_dir, CLASS_NAME + ".java"), "w") as output:
+        output.write(source)
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main(sys.argv))
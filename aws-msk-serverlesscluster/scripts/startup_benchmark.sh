@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Compares cold start of the shaded jar on the JVM with the native executable built by `mvn -P native package`.
+#
+# Usage: scripts/startup_benchmark.sh <request.json> [iterations]
+#
+# Every iteration starts a new process that handles one request, the same way `cfn invoke` runs the executable
+# entrypoint, and the wall clock time of the whole process is recorded.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUEST_FILE=${1:?usage: $0 <request.json> [iterations]}
+ITERATIONS=${2:-10}
+JAR=target/aws-msk-serverlesscluster-handler-1.0-SNAPSHOT.jar
+NATIVE=target/aws-msk-serverlesscluster-handler
+MAIN_CLASS=software.amazon.msk.serverlesscluster.HandlerWrapperExecutable
+REQUEST=$(cat "$REQUEST_FILE")
+
+measure() {
+  local label=$1
+  shift
+  local samples=()
+  for _ in $(seq "$ITERATIONS"); do
+    local started finished
+    started=$(date +%s%N)
+    "$@" "$REQUEST" > /dev/null 2>&1 || true
+    finished=$(date +%s%N)
+    samples+=($(( (finished - started) / 1000000 )))
+  done
+  printf '%s\n' "${samples[@]}" | sort -n | awk -v label="$label" '
+    { values[NR] = $1; total += $1 }
+    END {
+      printf "%-6s runs=%d mean=%.0fms p50=%dms max=%dms\n", label, NR, total / NR, values[int((NR + 1) / 2)], values[NR]
+    }'
+}
+
+# the executable writes its response to a file in the working directory, keep those out of the tree
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+JAR=$(pwd)/$JAR
+NATIVE=$(pwd)/$NATIVE
+cd "$WORK_DIR"
+
+if [ -f "$JAR" ]; then
+  measure jvm java -cp "$JAR" "$MAIN_CLASS"
+else
+  echo "jvm    skipped, build $JAR with mvn package"
+fi
+if [ -x "$NATIVE" ]; then
+  measure native "$NATIVE"
+else
+  echo "native skipped, build $NATIVE with mvn -P native package"
+fi
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Profiles the cold start of the shaded jar for one request: prints the StartupProfiler report of the handler and the
+# classes the JVM loaded, grouped by library.
+#
+# Usage: scripts/startup_profile.sh <request.json>
+#
+# The report is written when the first MSK call returns, failed calls included, so a request with placeholder
+# credentials still profiles everything up to the call.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUEST_FILE=${1:?usage: $0 <request.json>}
+JAR=$(pwd)/target/aws-msk-serverlesscluster-handler-1.0-SNAPSHOT.jar
+MAIN_CLASS=software.amazon.msk.serverlesscluster.HandlerWrapperExecutable
+REQUEST=$(cat "$REQUEST_FILE")
+
+if [ ! -f "$JAR" ]; then
+  echo "build $JAR with mvn package first" >&2
+  exit 1
+fi
+
+# the executable writes its response to a file in the working directory, keep those out of the tree
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+cd "$WORK_DIR"
+
+MSK_STARTUP_PROFILE=true java -verbose:class -cp "$JAR" "$MAIN_CLASS" "$REQUEST" > stdout.log 2> stderr.log || true
+
+grep -h '"jvmToFirstCallMillis"' stdout.log stderr.log || echo "no startup profile, the request made no MSK call"
+
+# -verbose:class prints "[Loaded <class> from ...]" up to Java 8 and "[...][class,load] <class> source: ..." after
+grep -h -E '^\[Loaded |\[class,load\]' stdout.log | sed -E 's/^\[Loaded ([^ ]+).*/\1/; s/.*\[class,load\] ([^ ]+).*/\1/' |
+  awk '
+    /^software\.amazon\.awssdk\./                  { group = "aws-sdk" }
+    /^software\.amazon\.cloudformation\./          { group = "cloudformation-plugin" }
+    /^software\.amazon\.msk\.serverlesscluster\./  { group = "handler" }
+    /^org\.apache\.kafka\./                        { group = "kafka-clients" }
+    /^com\.google\./                               { group = "guava" }
+    /^com\.fasterxml\./                            { group = "jackson" }
+    /^org\.apache\.logging\./                      { group = "log4j2" }
+    /^(io\.netty|org\.apache\.http)\./             { group = "http-client" }
+    { if (group == "") group = "jdk and other"; count[group]++; total++; group = "" }
+    END {
+      for (name in count) printf "%-22s %6d classes\n", name, count[name]
+      printf "%-22s %6d classes\n", "total", total
+    }' | sort -k2 -n -r
@@ -0,0 +1,61 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Latency distribution of a read whose attempts usually take 2 ms but land in a 50 ms tail 2% of the time, with and
+ * without hedging. Compare the p0.99 lines of the sampled times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HedgedReadBenchmark {
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(2L);
+    private static final long TAIL_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+    private static final double TAIL_PROBABILITY = 0.02;
+
+    private ExecutorService executor;
+    private HedgedReads hedgedReads;
+
+    @Setup
+    public void setup() {
+        executor = HedgedReads.attemptExecutor(HedgedReads.MAX_ATTEMPT_THREADS);
+        hedgedReads = new HedgedReads(true, executor);
+        for (int i = 0; i < HedgedReads.MAX_SAMPLES; i++) {
+            hedgedReads.call(HedgedReadBenchmark::attempt);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long singleAttempt() {
+        return attempt();
+    }
+
+    @Benchmark
+    public long hedged() {
+        return hedgedReads.call(HedgedReadBenchmark::attempt);
+    }
+
+    private static long attempt() {
+        final long nanos = ThreadLocalRandom.current().nextDouble() < TAIL_PROBABILITY ? TAIL_NANOS : FAST_NANOS;
+        LockSupport.parkNanos(nanos);
+        return nanos;
+    }
+}
@@ -0,0 +1,106 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Overhead of the {@link InterceptingProxyClient} chain on a call that costs nothing itself: calling the proxy client
+ * directly, through an empty chain, and through three interceptors that only proceed. The empty chain should be within
+ * noise of the direct call; run with {@code -prof gc} to see that it allocates nothing either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptorChainBenchmark {
+    private static final DescribeClusterV2Response RESPONSE = DescribeClusterV2Response.builder().build();
+
+    private final DescribeClusterV2Request request = DescribeClusterV2Request.builder()
+        .clusterArn("arn:aws:kafka:us-west-2:083674906042:cluster/ClusterName/abcd1234")
+        .build();
+    private final Function<DescribeClusterV2Request, DescribeClusterV2Response> describe = ignored -> RESPONSE;
+
+    private ProxyClient<KafkaClient> direct;
+    private ProxyClient<KafkaClient> emptyChain;
+    private ProxyClient<KafkaClient> passThroughChain;
+
+    @Setup
+    public void setup() {
+        direct = new DirectProxyClient();
+        emptyChain = new InterceptingProxyClient(direct, Collections.emptyList());
+        passThroughChain = new InterceptingProxyClient(direct, Arrays.asList(new PassThroughInterceptor(),
+            new PassThroughInterceptor(), new PassThroughInterceptor()));
+    }
+
+    @Benchmark
+    public DescribeClusterV2Response direct() {
+        return direct.injectCredentialsAndInvokeV2(request, describe);
+    }
+
+    @Benchmark
+    public DescribeClusterV2Response emptyChain() {
+        return emptyChain.injectCredentialsAndInvokeV2(request, describe);
+    }
+
+    @Benchmark
+    public DescribeClusterV2Response passThroughChain() {
+        return passThroughChain.injectCredentialsAndInvokeV2(request, describe);
+    }
+
+    private static final class PassThroughInterceptor implements ServiceCallInterceptor {
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+            final ServiceCall<RequestT, ResponseT> call) {
+            return call.proceed();
+        }
+    }
+
+    /**
+     * Stands in for the credential injecting proxy client of the RPDK, applying the request function as is
+     */
+    private static final class DirectProxyClient implements ProxyClient<KafkaClient> {
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse,
+            IterableT extends SdkIterable<ResponseT>>
+        IterableT injectCredentialsAndInvokeIterableV2(final RequestT request,
+                                                       final Function<RequestT, IterableT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public KafkaClient client() {
+            return null;
+        }
+    }
+}
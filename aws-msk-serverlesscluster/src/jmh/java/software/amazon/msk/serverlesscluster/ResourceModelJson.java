@@ -0,0 +1,244 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import software.amazon.cloudformation.resource.Serializer;
+
+/**
+ * Writes resource models as JSON byte for byte like the {@link Serializer} of the CloudFormation plugin, without
+ * Jackson's reflective property access and per value serializer lookups: property names are precomputed
+ * {@link SerializedString}s and values are read through the generated getters.
+ *
+ * The property order, the order of map entries and whether empty collections are written are taken from the plugin's
+ * own output for probe models when the class loads, and the output for the probes is then compared with the plugin's.
+ * When anything differs, e.g. after a schema change added a property, every model goes through the plugin's
+ * serializer instead. Only {@link WrapperSerializationBenchmark} uses it, the handlers keep the plugin's serializer.
+ */
+final class ResourceModelJson {
+    private static final Serializer REFERENCE = new Serializer();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Plan PLAN = Plan.derive();
+
+    private ResourceModelJson() {
+    }
+
+    /**
+     * @return whether models are written by the precomputed writer rather than the plugin's serializer
+     */
+    static boolean isPrecomputed() {
+        return PLAN != null;
+    }
+
+    /**
+     * @param model resource model
+     * @return the JSON the plugin's serializer writes for the model
+     * @throws JsonProcessingException when the model cannot be serialized
+     */
+    static String write(final ResourceModel model) throws JsonProcessingException {
+        if (PLAN == null) {
+            return REFERENCE.serialize(model);
+        }
+        return PLAN.write(model);
+    }
+
+    private static final class Plan {
+        private final Map<Class<?>, Property<?>[]> properties;
+        private final boolean sortMapKeys;
+        private final boolean writeEmpty;
+
+        private Plan(final Map<Class<?>, Property<?>[]> properties, final boolean sortMapKeys,
+                     final boolean writeEmpty) {
+            this.properties = properties;
+            this.sortMapKeys = sortMapKeys;
+            this.writeEmpty = writeEmpty;
+        }
+
+        /**
+         * @return the plan matching the plugin's output for the probe models, null when there is none
+         */
+        private static Plan derive() {
+            try {
+                final ObjectMapper reader = new ObjectMapper();
+                final ResourceModel probe = probeModel();
+                final JsonNode probeJson = reader.readTree(REFERENCE.serialize(probe));
+                final JsonNode clientAuthenticationJson = probeJson.get("ClientAuthentication");
+                final JsonNode saslJson = clientAuthenticationJson.get("Sasl");
+
+                final Map<Class<?>, Property<?>[]> properties = new HashMap<>();
+                properties.put(ResourceModel.class, inOrderOf(probeJson, resourceModelGetters()));
+                properties.put(VpcConfig.class, inOrderOf(probeJson.get("VpcConfigs").get(0), vpcConfigGetters()));
+                properties.put(ClientAuthentication.class, inOrderOf(clientAuthenticationJson,
+                    Collections.<String, Function<ClientAuthentication, Object>>singletonMap("Sasl",
+                        ClientAuthentication::getSasl)));
+                properties.put(Sasl.class, inOrderOf(saslJson,
+                    Collections.<String, Function<Sasl, Object>>singletonMap("Iam", Sasl::getIam)));
+                properties.put(Iam.class, inOrderOf(saslJson.get("Iam"),
+                    Collections.<String, Function<Iam, Object>>singletonMap("Enabled", Iam::getEnabled)));
+
+                final Iterator<String> tagKeys = probeJson.get("Tags").fieldNames();
+                final boolean sortMapKeys = "a".equals(tagKeys.next());
+                final ResourceModel emptyProbe = ResourceModel.builder()
+                    .clusterName("probe")
+                    .vpcConfigs(Collections.emptySet())
+                    .tags(Collections.emptyMap())
+                    .build();
+                final boolean writeEmpty = reader.readTree(REFERENCE.serialize(emptyProbe)).has("Tags");
+
+                final Plan plan = new Plan(properties, sortMapKeys, writeEmpty);
+                for (final ResourceModel model : new ResourceModel[] {probe, emptyProbe, new ResourceModel()}) {
+                    if (!REFERENCE.serialize(model).equals(plan.write(model))) {
+                        return null;
+                    }
+                }
+                return plan;
+            } catch (final IOException | RuntimeException e) {
+                // e.g. a property without a getter below, the plugin's serializer keeps working
+                return null;
+            }
+        }
+
+        private String write(final ResourceModel model) throws JsonProcessingException {
+            final StringWriter writer = new StringWriter(256);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+                writeValue(generator, model);
+            } catch (final JsonProcessingException e) {
+                throw e;
+            } catch (final IOException e) {
+                // a StringWriter does not fail, a generator error is a JsonProcessingException
+                throw new IllegalStateException(e);
+            }
+            return writer.toString();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof String) {
+                generator.writeString((String) value);
+            } else if (value instanceof Boolean) {
+                generator.writeBoolean((Boolean) value);
+            } else if (value instanceof Collection) {
+                generator.writeStartArray();
+                for (final Object element : (Collection<?>) value) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            } else if (value instanceof Map) {
+                final Map<String, ?> map = sortMapKeys ? new TreeMap<>((Map<String, ?>) value) : (Map<String, ?>) value;
+                generator.writeStartObject();
+                for (final Map.Entry<String, ?> entry : map.entrySet()) {
+                    generator.writeFieldName(entry.getKey());
+                    writeValue(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            } else {
+                final Property<Object>[] objectProperties = (Property<Object>[]) properties.get(value.getClass());
+                if (objectProperties == null) {
+                    throw new IllegalStateException("No precomputed properties for " + value.getClass());
+                }
+                generator.writeStartObject();
+                for (final Property<Object> property : objectProperties) {
+                    final Object propertyValue = property.getter.apply(value);
+                    if (propertyValue == null || !writeEmpty && isEmpty(propertyValue)) {
+                        continue;
+                    }
+                    generator.writeFieldName(property.name);
+                    writeValue(generator, propertyValue);
+                }
+                generator.writeEndObject();
+            }
+        }
+
+        private static boolean isEmpty(final Object value) {
+            return value instanceof Collection && ((Collection<?>) value).isEmpty()
+                || value instanceof Map && ((Map<?, ?>) value).isEmpty();
+        }
+
+        /**
+         * @return the properties of the given object in the order the plugin wrote them
+         */
+        private static <T> Property<?>[] inOrderOf(final JsonNode json,
+                                                   final Map<String, Function<T, Object>> getters) {
+            final List<Property<T>> ordered = new ArrayList<>();
+            final Iterator<String> names = json.fieldNames();
+            while (names.hasNext()) {
+                final String name = names.next();
+                final Function<T, Object> getter = getters.get(name);
+                if (getter == null) {
+                    throw new IllegalStateException("No getter for property " + name);
+                }
+                ordered.add(new Property<>(new SerializedString(name), getter));
+            }
+            return ordered.toArray(new Property<?>[0]);
+        }
+
+        private static Map<String, Function<ResourceModel, Object>> resourceModelGetters() {
+            final Map<String, Function<ResourceModel, Object>> getters = new HashMap<>();
+            getters.put("Arn", ResourceModel::getArn);
+            getters.put("BootstrapServers", ResourceModel::getBootstrapServers);
+            getters.put("ClusterName", ResourceModel::getClusterName);
+            getters.put("VpcConfigs", ResourceModel::getVpcConfigs);
+            getters.put("ClientAuthentication", ResourceModel::getClientAuthentication);
+            getters.put("Tags", ResourceModel::getTags);
+            return getters;
+        }
+
+        private static Map<String, Function<VpcConfig, Object>> vpcConfigGetters() {
+            final Map<String, Function<VpcConfig, Object>> getters = new HashMap<>();
+            getters.put("SecurityGroups", VpcConfig::getSecurityGroups);
+            getters.put("SubnetIds", VpcConfig::getSubnetIds);
+            return getters;
+        }
+
+        /**
+         * @return a model with every property set, tags out of key order and strings that need escaping
+         */
+        private static ResourceModel probeModel() {
+            final Map<String, String> tags = new LinkedHashMap<>();
+            tags.put("z", "é\"\\\n ");
+            tags.put("a", "");
+            return ResourceModel.builder()
+                .arn("arn:aws:kafka:us-east-1:123456789012:cluster/probe/abcd1234")
+                .bootstrapServers("boot-abcd1234.c1.kafka-serverless.us-east-1.amazonaws.com:9098")
+                .clusterName("probe")
+                .vpcConfigs(Collections.singleton(VpcConfig.builder()
+                    .securityGroups(Collections.singleton("sg-0123456789abcdef0"))
+                    .subnetIds(Collections.singleton("subnet-0123456789abcdef0"))
+                    .build()))
+                .clientAuthentication(ClientAuthentication.builder()
+                    .sasl(Sasl.builder().iam(Iam.builder().enabled(true).build()).build())
+                    .build())
+                .tags(tags)
+                .build();
+        }
+    }
+
+    private static final class Property<T> {
+        private final SerializedString name;
+        private final Function<T, Object> getter;
+
+        private Property(final SerializedString name, final Function<T, Object> getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+    }
+}
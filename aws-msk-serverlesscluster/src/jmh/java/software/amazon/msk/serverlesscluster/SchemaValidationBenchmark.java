@@ -0,0 +1,75 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Sets;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import software.amazon.cloudformation.exceptions.TerminalException;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.cloudformation.resource.Validator;
+import software.amazon.cloudformation.resource.exceptions.ValidationException;
+
+/**
+ * Compares the validator generated from aws-msk-serverlesscluster.json with the generic JSON schema validation of the
+ * CloudFormation plugin for the same resource model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaValidationBenchmark {
+    private ResourceModel model;
+    private JSONObject modelObject;
+    private JSONObject schema;
+    private Validator validator;
+
+    @Setup
+    public void setup() throws Exception {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("Environment", "benchmark");
+        tags.put("Owner", "msk");
+        model = ResourceModel.builder()
+            .clusterName("BenchmarkCluster")
+            .vpcConfigs(Sets.newHashSet(VpcConfig.builder()
+                .subnetIds(Sets.newHashSet("subnet-0123456789abcdef0", "subnet-0fedcba9876543210"))
+                .securityGroups(Sets.newHashSet("sg-0123456789abcdef0"))
+                .build()))
+            .clientAuthentication(ClientAuthentication.builder()
+                .sasl(Sasl.builder().iam(Iam.builder().enabled(true).build()).build())
+                .build())
+            .tags(tags)
+            .build();
+        modelObject = new JSONObject(new Serializer().serialize(model));
+        try (InputStream schemaStream = getClass().getResourceAsStream("/aws-msk-serverlesscluster.json")) {
+            schema = new JSONObject(new JSONTokener(schemaStream));
+        }
+        validator = new Validator();
+    }
+
+    @Benchmark
+    public List<String> generatedValidator() {
+        return ResourceModelSchemaValidator.validate(model);
+    }
+
+    @Benchmark
+    public JSONObject genericValidator() {
+        try {
+            validator.validateObject(modelObject, schema);
+        } catch (final ValidationException e) {
+            throw new TerminalException(e);
+        }
+        return modelObject;
+    }
+}
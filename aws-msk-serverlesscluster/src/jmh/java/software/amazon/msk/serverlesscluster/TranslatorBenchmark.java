@@ -0,0 +1,131 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.ClusterType;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.Serverless;
+import software.amazon.awssdk.services.kafka.model.ServerlessClientAuthentication;
+import software.amazon.awssdk.services.kafka.model.ServerlessRequest;
+import software.amazon.awssdk.services.kafka.model.ServerlessSasl;
+
+/**
+ * Translation of a create request and of a describe response, next to the translation as it was before it hoisted
+ * accessors and stopped copying the response lists into hash sets and streaming the VPC configs. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per translation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranslatorBenchmark {
+    private ResourceModel model;
+    private DescribeClusterV2Response describeResponse;
+
+    @Setup
+    public void setup() {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("Environment", "benchmark");
+        tags.put("Owner", "msk");
+        model = ResourceModel.builder()
+            .clusterName("BenchmarkCluster")
+            .vpcConfigs(Sets.newHashSet(VpcConfig.builder()
+                .subnetIds(Sets.newHashSet("subnet-0123456789abcdef0", "subnet-0fedcba9876543210"))
+                .securityGroups(Sets.newHashSet("sg-0123456789abcdef0"))
+                .build()))
+            .clientAuthentication(ClientAuthentication.builder()
+                .sasl(Sasl.builder().iam(Iam.builder().enabled(true).build()).build())
+                .build())
+            .tags(tags)
+            .build();
+        describeResponse = DescribeClusterV2Response.builder()
+            .clusterInfo(Cluster.builder()
+                .clusterArn("arn:aws:kafka:us-west-2:083674906042:cluster/BenchmarkCluster/abcd1234")
+                .clusterName("BenchmarkCluster")
+                .clusterType(ClusterType.SERVERLESS)
+                .state(ClusterState.ACTIVE)
+                .serverless(Serverless.builder()
+                    .vpcConfigs(software.amazon.awssdk.services.kafka.model.VpcConfig.builder()
+                        .subnetIds("subnet-0123456789abcdef0", "subnet-0fedcba9876543210")
+                        .securityGroupIds("sg-0123456789abcdef0")
+                        .build())
+                    .clientAuthentication(ServerlessClientAuthentication.builder()
+                        .sasl(ServerlessSasl.builder()
+                            .iam(software.amazon.awssdk.services.kafka.model.Iam.builder().enabled(true).build())
+                            .build())
+                        .build())
+                    .build())
+                .tags(tags)
+                .build())
+            .build();
+    }
+
+    @Benchmark
+    public CreateClusterV2Request createRequest() {
+        return Translator.translateToCreateRequest(model);
+    }
+
+    @Benchmark
+    public CreateClusterV2Request createRequestBaseline() {
+        return CreateClusterV2Request.builder()
+            .clusterName(model.getClusterName())
+            .serverless(ServerlessRequest.builder()
+                .clientAuthentication(ServerlessClientAuthentication.builder()
+                    .sasl(ServerlessSasl.builder()
+                        .iam(software.amazon.awssdk.services.kafka.model.Iam.builder()
+                            .enabled(model.getClientAuthentication().getSasl().getIam().getEnabled())
+                            .build())
+                        .build())
+                    .build())
+                .vpcConfigs(model.getVpcConfigs().stream().map(vpcConfig ->
+                    software.amazon.awssdk.services.kafka.model.VpcConfig.builder()
+                        .securityGroupIds(vpcConfig.getSecurityGroups())
+                        .subnetIds(vpcConfig.getSubnetIds())
+                        .build()).collect(Collectors.toList()))
+                .build())
+            .tags(model.getTags())
+            .build();
+    }
+
+    @Benchmark
+    public ResourceModel readResponse() {
+        return Translator.translateFromReadResponse(describeResponse);
+    }
+
+    @Benchmark
+    public ResourceModel readResponseBaseline() {
+        return ResourceModel.builder()
+            .arn(describeResponse.clusterInfo().clusterArn())
+            .clusterName(describeResponse.clusterInfo().clusterName())
+            .clientAuthentication(ClientAuthentication.builder()
+                .sasl(Sasl.builder()
+                    .iam(Iam.builder()
+                        .enabled(describeResponse.clusterInfo().serverless().clientAuthentication().sasl().iam()
+                            .enabled())
+                        .build())
+                    .build())
+                .build())
+            .vpcConfigs(describeResponse.clusterInfo().serverless().vpcConfigs().stream().map(vpcConfig ->
+                VpcConfig.builder()
+                    .securityGroups(new HashSet<>(vpcConfig.securityGroupIds()))
+                    .subnetIds(new HashSet<>(vpcConfig.subnetIds()))
+                    .build()).collect(Collectors.toSet()))
+            .tags(describeResponse.clusterInfo().tags())
+            .build();
+    }
+}
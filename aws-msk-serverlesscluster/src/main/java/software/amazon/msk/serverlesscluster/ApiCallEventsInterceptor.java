@@ -0,0 +1,28 @@
+package software.amazon.msk.serverlesscluster;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+
+/**
+ * Interceptor emitting a {@link HandlerEvents#apiCall(String)} event for every MSK call, covering the SDK marshalling
+ * and unmarshalling as well as the time on the wire.
+ */
+public class ApiCallEventsInterceptor implements ServiceCallInterceptor {
+    private static final String SUCCESS = "SUCCESS";
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+        final ServiceCall<RequestT, ResponseT> call) {
+        final HandlerEvents.Span span = HandlerEvents.apiCall(call.api());
+        try {
+            final ResponseT response = call.proceed();
+            span.outcome(SUCCESS);
+            return response;
+        } catch (final RuntimeException e) {
+            span.outcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+}
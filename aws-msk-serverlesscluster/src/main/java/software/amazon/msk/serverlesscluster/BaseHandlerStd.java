@@ -1,9 +1,14 @@
 package software.amazon.msk.serverlesscluster;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.BadRequestException;
 import software.amazon.awssdk.services.kafka.model.ForbiddenException;
@@ -18,7 +23,6 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 
@@ -28,10 +32,21 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     public static final String LOG_MSG_MSK_INTERNAL_FAILURE = "MSK Internal Failure: %s";
     protected static final String MSK_API_PARAM_NAME_CLUSTERARN = "clusterArn";
     protected static final String INVALID_PARAMETER_EXCEPTION = "One or more of the parameters are not valid";
-    protected static final Constant STABILIZATION_DELAY_CREATE =
-        Constant.of().timeout(Duration.ofMinutes(120L)).delay(Duration.ofSeconds(30L)).build();
-    protected static final Constant STABILIZATION_DELAY_DELETE =
-        Constant.of().timeout(Duration.ofMinutes(75L)).delay(Duration.ofSeconds(30L)).build();
+    protected static final Duration STABILIZATION_POLL_INTERVAL = Duration.ofSeconds(30L);
+    protected static final Duration STABILIZATION_TIMEOUT_CREATE = Duration.ofMinutes(120L);
+    protected static final Duration STABILIZATION_TIMEOUT_DELETE = Duration.ofMinutes(75L);
+    protected static final int CALL_TIMEOUT_CALLBACK_DELAY_SECONDS = 5;
+    protected static final int CIRCUIT_OPEN_MIN_CALLBACK_DELAY_SECONDS = 1;
+
+    protected final Supplier<InvocationTimer> invocationTimers;
+
+    protected BaseHandlerStd() {
+        this(InvocationTimer::start);
+    }
+
+    protected BaseHandlerStd(final Supplier<InvocationTimer> invocationTimers) {
+        this.invocationTimers = invocationTimers;
+    }
 
     @Override
     public final ProgressEvent<ResourceModel,
@@ -40,13 +55,53 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
-        return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(ClientBuilder::getClient),
-            logger
-        );
+        StartupProfiler.getInstance().handlerEntered();
+        final String handler = getClass().getSimpleName();
+        final HandlerEvents.Span profile = HandlerEvents.profileOperation(handler, logger);
+        final HandlerEvents.Span invocation = HandlerEvents.invocation(handler, request.getClientRequestToken());
+        try {
+            final ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest(
+                proxy,
+                request,
+                callbackContext != null ? callbackContext : new CallbackContext(),
+                new InterceptingProxyClient(proxy.newProxy(ClientBuilder::getClient),
+                    serviceCallInterceptors(request, logger)),
+                logger
+            );
+            invocation.outcome(String.valueOf(progress.getStatus()));
+            return progress;
+        } catch (final RuntimeException e) {
+            invocation.outcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            invocation.close();
+            profile.close();
+        }
+    }
+
+    /**
+     * Interceptors around every MSK call of an invocation, outermost first: the startup profiler until the first call
+     * of the process was profiled, the circuit breaker, so an open breaker fails before anything else runs, the api
+     * call events, and the traffic recording when it is enabled, closest to the call. Override to add caching, rate
+     * limiting or metrics of a handler's own.
+     * @param request handler request of the invocation
+     * @param logger logger of the invocation
+     * @return the interceptor chain, empty to call MSK directly
+     */
+    protected List<ServiceCallInterceptor> serviceCallInterceptors(
+        final ResourceHandlerRequest<ResourceModel> request, final Logger logger) {
+        final List<ServiceCallInterceptor> interceptors = new ArrayList<>(4);
+        final StartupProfiler startupProfiler = StartupProfiler.getInstance();
+        if (startupProfiler.awaitingFirstCall()) {
+            interceptors.add(startupProfiler);
+        }
+        interceptors.add(new CircuitBreakerInterceptor(CircuitBreakerRegistry.getInstance(), request.getRegion()));
+        interceptors.add(new ApiCallEventsInterceptor());
+        final TrafficRecorder recorder = TrafficRecorder.enabledRecorder(logger);
+        if (recorder != null) {
+            interceptors.add(new RecordingInterceptor(recorder, logger));
+        }
+        return interceptors;
     }
 
     protected abstract ProgressEvent<ResourceModel,
@@ -65,6 +120,30 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final Logger logger,
         final String clientRequestToken)
         throws Exception {
+        return handleError(exception, model, callbackContext, logger, clientRequestToken, true);
+    }
+
+    /**
+     * Maps a failed call to a progress event
+     * @param exception the exception the call failed with
+     * @param model resource model
+     * @param callbackContext callback context
+     * @param logger logger of the current invocation
+     * @param clientRequestToken client request token
+     * @param inProgressAllowed whether the call may be retried on a callback, false for Read and List, which must
+     *                          only ever succeed or fail
+     * @return progressEvent indicating failure, or in progress with a callback delay when a retry is allowed
+     * @throws Exception the exception itself when it is not mapped
+     */
+    protected ProgressEvent<ResourceModel,
+        CallbackContext> handleError(
+        final Exception exception,
+        final ResourceModel model,
+        final CallbackContext callbackContext,
+        final Logger logger,
+        final String clientRequestToken,
+        final boolean inProgressAllowed)
+        throws Exception {
 
         if (exception instanceof IllegalArgumentException) {
             final String exceptionMessage = exception.getMessage();
@@ -111,6 +190,29 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 "[ClientRequestToken: %s] %s", clientRequestToken, exception.getMessage()));
         }
 
+        if (exception instanceof ApiCallTimeoutException || exception instanceof ApiCallAttemptTimeoutException) {
+            logger.log(String.format("[ClientRequestToken: %s] MSK API request timed out: %s", clientRequestToken,
+                exception.getMessage()));
+            if (!inProgressAllowed) {
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.ServiceInternalError,
+                    String.format("[ClientRequestToken: %s] %s", clientRequestToken, exception.getMessage()));
+            }
+            // the call ran out of the time the invocation could give it, retry it on a fresh invocation
+            return ProgressEvent.defaultInProgressHandler(callbackContext, CALL_TIMEOUT_CALLBACK_DELAY_SECONDS, model);
+        }
+
+        if (exception instanceof CircuitOpenException) {
+            logger.log(String.format("[ClientRequestToken: %s] %s", clientRequestToken, exception.getMessage()));
+            if (!inProgressAllowed) {
+                // nothing reached MSK, which failed the recent calls, so fail fast rather than wait out the cooldown
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.ServiceInternalError,
+                    String.format("[ClientRequestToken: %s] %s", clientRequestToken, exception.getMessage()));
+            }
+            // nothing reached MSK, come back once the breaker lets a probe call through
+            return ProgressEvent.defaultInProgressHandler(callbackContext,
+                callbackDelaySeconds(((CircuitOpenException) exception).getRetryAfter()), model);
+        }
+
         if (exception instanceof AwsServiceException) {
             boolean isError5XX =
                 StringUtils.isNotEmpty(exception.getMessage()) &&
@@ -127,4 +229,9 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         logger.log(String.format(LOG_MSG_MSK_API_REQUEST_FAILED, exception.getMessage()));
         throw exception;
     }
+
+    private static int callbackDelaySeconds(final Duration retryAfter) {
+        final long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1L : 0L);
+        return (int) Math.max(CIRCUIT_OPEN_MIN_CALLBACK_DELAY_SECONDS, Math.min(seconds, Integer.MAX_VALUE));
+    }
 }
@@ -0,0 +1,84 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * IAM bootstrap broker strings by cluster ARN, shared by every invocation a warm container serves, so reads of a
+ * cluster only call GetBootstrapBrokers once per {@link #TIME_TO_LIVE}.
+ *
+ * An entry is only looked up after DescribeClusterV2 of the same ARN succeeded with the caller's credentials, so the
+ * cache never answers for a cluster the caller cannot read. Deleted clusters are dropped, and the least recently
+ * used entry goes once more than {@value #MAX_ENTRIES} clusters are cached.
+ */
+public class BootstrapBrokersCache {
+    static final Duration TIME_TO_LIVE = Duration.ofMinutes(15L);
+    static final int MAX_ENTRIES = 1024;
+
+    private static final BootstrapBrokersCache INSTANCE = new BootstrapBrokersCache(Clock.systemUTC());
+
+    private final Clock clock;
+    // access ordered, so the first entry is the least recently used one
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    BootstrapBrokersCache(final Clock clock) {
+        this.clock = clock;
+    }
+
+    static BootstrapBrokersCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param clusterArn cluster ARN
+     * @return the cached bootstrap broker string, null when it is not cached or expired
+     */
+    synchronized String get(final String clusterArn) {
+        final Entry entry = entries.get(clusterArn);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt)) {
+            entries.remove(clusterArn);
+            return null;
+        }
+        return entry.bootstrapBrokers;
+    }
+
+    /**
+     * @param clusterArn cluster ARN
+     * @param bootstrapBrokers bootstrap broker string returned by GetBootstrapBrokers, not cached when null
+     */
+    synchronized void put(final String clusterArn, final String bootstrapBrokers) {
+        if (clusterArn == null || bootstrapBrokers == null) {
+            return;
+        }
+        entries.put(clusterArn, new Entry(bootstrapBrokers, clock.instant().plus(TIME_TO_LIVE)));
+        if (entries.size() > MAX_ENTRIES) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Drops the entry of a deleted cluster
+     * @param clusterArn cluster ARN
+     */
+    synchronized void invalidate(final String clusterArn) {
+        if (clusterArn != null) {
+            entries.remove(clusterArn);
+        }
+    }
+
+    private static final class Entry {
+        private final String bootstrapBrokers;
+        private final Instant expiresAt;
+
+        private Entry(final String bootstrapBrokers, final Instant expiresAt) {
+            this.bootstrapBrokers = bootstrapBrokers;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
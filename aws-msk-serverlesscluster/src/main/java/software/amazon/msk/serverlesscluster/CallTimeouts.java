@@ -0,0 +1,95 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+
+/**
+ * SDK timeouts of the MSK calls, so a slow call ends while the invocation can still report a progress event.
+ *
+ * Every call is bounded by the time left in the invocation, less a margin for handing the event back. Calls that are
+ * safe to repeat also bound each attempt by the latency target of their API, letting the SDK retry a stuck attempt.
+ * CreateClusterV2 and DeleteCluster get no attempt timeout, as a retried attempt could repeat a mutation that
+ * already happened.
+ *
+ * The plugin proxy replaces the override configuration of a request with one holding only the caller credentials,
+ * so the timeouts are added again to the request it hands to the SDK, see {@link #keepingTimeouts}.
+ */
+public class CallTimeouts {
+    static final Duration DEADLINE_MARGIN = Duration.ofSeconds(5L);
+    static final Duration MIN_CALL_TIMEOUT = Duration.ofSeconds(1L);
+
+    /**
+     * Builds the override configuration of a call
+     * @param api the MSK api being called
+     * @param invocationTimer time budget of the current invocation
+     * @return override configuration carrying the call and attempt timeouts
+     */
+    static AwsRequestOverrideConfiguration forCall(final Api api, final InvocationTimer invocationTimer) {
+        final Duration untilDeadline = invocationTimer.remaining().minus(DEADLINE_MARGIN);
+        final Duration callTimeout = untilDeadline.compareTo(MIN_CALL_TIMEOUT) < 0 ? MIN_CALL_TIMEOUT : untilDeadline;
+
+        final AwsRequestOverrideConfiguration.Builder overrideConfiguration =
+            AwsRequestOverrideConfiguration.builder().apiCallTimeout(callTimeout);
+        if (api.attemptTimeout != null) {
+            overrideConfiguration.apiCallAttemptTimeout(
+                api.attemptTimeout.compareTo(callTimeout) < 0 ? api.attemptTimeout : callTimeout);
+        }
+        return overrideConfiguration.build();
+    }
+
+    /**
+     * Wraps the function the proxy calls with the credentials injected request, so the SDK sees the timeouts of the
+     * request the call was made with
+     * @param request request carrying the timeouts of the call
+     * @param requestFunction the SDK call
+     * @param <RequestT> type of the request
+     * @param <ResponseT> type of the response
+     * @return the SDK call with the timeouts of the request, the call itself when the request has none
+     */
+    static <RequestT extends AwsRequest, ResponseT> Function<RequestT, ResponseT> keepingTimeouts(
+        final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        final AwsRequestOverrideConfiguration timeouts = request.overrideConfiguration().orElse(null);
+        if (timeouts == null
+            || !timeouts.apiCallTimeout().isPresent() && !timeouts.apiCallAttemptTimeout().isPresent()) {
+            return requestFunction;
+        }
+        return injected -> requestFunction.apply(withTimeouts(injected, timeouts));
+    }
+
+    /**
+     * @param injected request whose override configuration holds the caller credentials
+     * @param timeouts override configuration holding the timeouts of the call
+     * @param <RequestT> type of the request
+     * @return the request with the timeouts added to its override configuration
+     */
+    @SuppressWarnings("unchecked")
+    static <RequestT extends AwsRequest> RequestT withTimeouts(final RequestT injected,
+                                                               final AwsRequestOverrideConfiguration timeouts) {
+        final AwsRequestOverrideConfiguration.Builder overrideConfiguration = injected.overrideConfiguration()
+            .map(AwsRequestOverrideConfiguration::toBuilder)
+            .orElseGet(AwsRequestOverrideConfiguration::builder);
+        timeouts.apiCallTimeout().ifPresent(overrideConfiguration::apiCallTimeout);
+        timeouts.apiCallAttemptTimeout().ifPresent(overrideConfiguration::apiCallAttemptTimeout);
+        return (RequestT) injected.toBuilder().overrideConfiguration(overrideConfiguration.build()).build();
+    }
+
+    enum Api {
+        CREATE_CLUSTER_V2(null),
+        DELETE_CLUSTER(null),
+        DESCRIBE_CLUSTER_V2(Duration.ofSeconds(5L)),
+        GET_BOOTSTRAP_BROKERS(Duration.ofSeconds(5L)),
+        LIST_CLUSTERS_V2(Duration.ofSeconds(10L)),
+        TAG_RESOURCE(Duration.ofSeconds(10L)),
+        UNTAG_RESOURCE(Duration.ofSeconds(10L));
+
+        // latency target of a single attempt, null when an attempt must not be retried
+        private final Duration attemptTimeout;
+
+        Api(final Duration attemptTimeout) {
+            this.attemptTimeout = attemptTimeout;
+        }
+    }
+}
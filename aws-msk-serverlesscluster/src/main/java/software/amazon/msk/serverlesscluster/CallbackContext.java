@@ -1,5 +1,8 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 @lombok.Getter
@@ -7,4 +10,18 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    // Whether the cluster state returned by CreateClusterV2 was already used for the first stabilization check
+    private boolean createResponseStateConsumed;
+    // Whether the cluster state returned by DeleteCluster was already used for the first stabilization check
+    private boolean deleteResponseStateConsumed;
+    // Epoch millis of the service call whose outcome is being stabilized
+    private Long stabilizationStartedAt;
+    // Epoch millis of the first check that found the created cluster active
+    private Long activeObservedAt;
+    // Keys of the tags added by the TagResource chunks completed so far
+    private Set<String> addedTagKeys = new HashSet<>();
+    // Keys of the tags removed by the UntagResource chunks completed so far
+    private Set<String> removedTagKeys = new HashSet<>();
+    // Number of callbacks so far that retried a throttled TagResource or UntagResource chunk
+    private int tagThrottledAttempts;
 }
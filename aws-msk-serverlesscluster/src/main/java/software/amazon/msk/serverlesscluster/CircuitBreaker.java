@@ -0,0 +1,176 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker of one MSK api in one region, shared by every handler invocation a warm container serves.
+ *
+ * While closed, the outcome of the most recent calls is kept in a fixed size window. Once the window holds enough calls
+ * and the share of service failures reaches the configured rate, the breaker opens and rejects calls without reaching
+ * the endpoint until the cooldown has passed. It then lets a single probe call through: a healthy probe closes the
+ * breaker again, a failed one reopens it for another cooldown.
+ */
+public class CircuitBreaker {
+    private final Settings settings;
+    private final Clock clock;
+    private final boolean[] failures;
+    private int calls;
+    private int failureCount;
+    private int next;
+    private State state = State.CLOSED;
+    private Instant openUntil = Instant.MIN;
+    private boolean probeInFlight;
+
+    CircuitBreaker(final Settings settings, final Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.failures = new boolean[settings.windowSize];
+    }
+
+    /**
+     * Asks for permission to make a call
+     * @return true when the call may go ahead, in which case its outcome has to be reported through
+     * {@link #onResult(boolean)}
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.instant().isBefore(openUntil)) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Reports the outcome of a call permitted by {@link #tryAcquire()}
+     * @param healthy false when the call failed because the service was unavailable or erroring
+     */
+    synchronized void onResult(final boolean healthy) {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (healthy) {
+                close();
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // a call started before the breaker opened
+            return;
+        }
+
+        if (calls == failures.length && failures[next]) {
+            failureCount--;
+        }
+        failures[next] = !healthy;
+        next = (next + 1) % failures.length;
+        calls = Math.min(calls + 1, failures.length);
+        if (!healthy) {
+            failureCount++;
+        }
+        if (calls >= settings.minimumCalls && failureCount >= settings.failureRate * calls) {
+            open();
+        }
+    }
+
+    /**
+     * @return time until the breaker lets a probe through, zero when calls are not being rejected for time
+     */
+    synchronized Duration retryAfter() {
+        final Duration retryAfter = Duration.between(clock.instant(), openUntil);
+        return retryAfter.isNegative() ? Duration.ZERO : retryAfter;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.instant().plus(settings.cooldown);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        openUntil = Instant.MIN;
+        calls = 0;
+        failureCount = 0;
+        next = 0;
+    }
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Thresholds of a breaker. The failure rate and the cooldown can be set through the
+     * {@value #FAILURE_RATE_VARIABLE} and {@value #COOLDOWN_SECONDS_VARIABLE} environment variables.
+     */
+    static final class Settings {
+        static final String FAILURE_RATE_VARIABLE = "MSK_CIRCUIT_BREAKER_FAILURE_RATE";
+        static final String COOLDOWN_SECONDS_VARIABLE = "MSK_CIRCUIT_BREAKER_COOLDOWN_SECONDS";
+        static final int DEFAULT_WINDOW_SIZE = 20;
+        static final int DEFAULT_MINIMUM_CALLS = 10;
+        static final double DEFAULT_FAILURE_RATE = 0.5;
+        static final Duration DEFAULT_COOLDOWN = Duration.ofSeconds(30L);
+
+        private final int windowSize;
+        private final int minimumCalls;
+        private final double failureRate;
+        private final Duration cooldown;
+
+        Settings(final int windowSize, final int minimumCalls, final double failureRate, final Duration cooldown) {
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+                throw new IllegalArgumentException(String.format(
+                    "Invalid circuit breaker window: %d calls, %d minimum", windowSize, minimumCalls));
+            }
+            if (!(failureRate > 0.0 && failureRate <= 1.0) || cooldown.isNegative() || cooldown.isZero()) {
+                throw new IllegalArgumentException(String.format(
+                    "Invalid circuit breaker threshold: failure rate %s, cooldown %s", failureRate, cooldown));
+            }
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            this.failureRate = failureRate;
+            this.cooldown = cooldown;
+        }
+
+        /**
+         * @return the default settings, with the failure rate and cooldown taken from the environment when set
+         */
+        static Settings fromEnvironment() {
+            double failureRate = DEFAULT_FAILURE_RATE;
+            Duration cooldown = DEFAULT_COOLDOWN;
+            try {
+                final String failureRateValue = System.getenv(FAILURE_RATE_VARIABLE);
+                if (failureRateValue != null) {
+                    failureRate = Double.parseDouble(failureRateValue.trim());
+                }
+                final String cooldownValue = System.getenv(COOLDOWN_SECONDS_VARIABLE);
+                if (cooldownValue != null) {
+                    cooldown = Duration.ofSeconds(Long.parseLong(cooldownValue.trim()));
+                }
+                return new Settings(DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_CALLS, failureRate, cooldown);
+            } catch (final IllegalArgumentException e) {
+                // a malformed override must not take the handlers down, NumberFormatException included
+                return new Settings(DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_CALLS, DEFAULT_FAILURE_RATE,
+                    DEFAULT_COOLDOWN);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package software.amazon.msk.serverlesscluster;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.kafka.model.InternalServerErrorException;
+import software.amazon.awssdk.services.kafka.model.ServiceUnavailableException;
+
+/**
+ * Interceptor guarding every MSK call with the {@link CircuitBreaker} of its api and region. While a breaker is open
+ * the call fails fast with a {@link CircuitOpenException} instead of waiting for the endpoint.
+ *
+ * Only failures that say the service is unhealthy count against a breaker: 5xx responses, including
+ * ServiceUnavailableException and InternalServerErrorException, and calls that did not get a response at all. Client
+ * errors such as a missing cluster or a bad request show a healthy endpoint.
+ */
+public class CircuitBreakerInterceptor implements ServiceCallInterceptor {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final String region;
+
+    CircuitBreakerInterceptor(final CircuitBreakerRegistry circuitBreakers, final String region) {
+        this.circuitBreakers = circuitBreakers;
+        this.region = region;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+        final ServiceCall<RequestT, ResponseT> call) {
+        final String api = call.api();
+        final CircuitBreaker circuitBreaker = circuitBreakers.breakerFor(region, api);
+        if (!circuitBreaker.tryAcquire()) {
+            throw new CircuitOpenException(api, circuitBreaker.retryAfter());
+        }
+
+        boolean healthy = false;
+        try {
+            final ResponseT response = call.proceed();
+            healthy = true;
+            return response;
+        } catch (final RuntimeException e) {
+            healthy = !isServiceFailure(e);
+            throw e;
+        } finally {
+            circuitBreaker.onResult(healthy);
+        }
+    }
+
+    private static boolean isServiceFailure(final RuntimeException exception) {
+        if (exception instanceof ServiceUnavailableException || exception instanceof InternalServerErrorException) {
+            return true;
+        }
+        if (exception instanceof AwsServiceException) {
+            return ((AwsServiceException) exception).statusCode() >= 500;
+        }
+        // no response: connection failures and call timeouts
+        return exception instanceof SdkClientException;
+    }
+}
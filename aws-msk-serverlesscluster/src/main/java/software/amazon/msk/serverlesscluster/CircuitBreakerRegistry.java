@@ -0,0 +1,37 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Container wide circuit breakers, one per region and MSK api, so an unhealthy api does not stop calls to the others.
+ */
+public class CircuitBreakerRegistry {
+    private static final String DEFAULT_REGION = "default";
+    private static final CircuitBreakerRegistry INSTANCE =
+        new CircuitBreakerRegistry(CircuitBreaker.Settings.fromEnvironment(), Clock.systemUTC());
+
+    private final CircuitBreaker.Settings settings;
+    private final Clock clock;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    CircuitBreakerRegistry(final CircuitBreaker.Settings settings, final Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    static CircuitBreakerRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param region region of the call
+     * @param api name of the MSK api
+     * @return the breaker guarding the api in the region
+     */
+    CircuitBreaker breakerFor(final String region, final String api) {
+        return breakers.computeIfAbsent((region == null ? DEFAULT_REGION : region) + "/" + api,
+            key -> new CircuitBreaker(settings, clock));
+    }
+}
@@ -0,0 +1,23 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of making an MSK call while the circuit breaker of its api is open. Nothing reached the service, so
+ * the handler reports progress and retries once the breaker lets calls through again.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    CircuitOpenException(final String api, final Duration retryAfter) {
+        super(String.format("Circuit breaker of %s is open, calls resume in %d ms", api,
+            retryAfter.toMillis()));
+        this.retryAfter = retryAfter;
+    }
+
+    Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
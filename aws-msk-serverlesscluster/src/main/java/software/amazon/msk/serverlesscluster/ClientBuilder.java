@@ -1,13 +1,60 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.cloudformation.LambdaWrapper;
 
 public class ClientBuilder {
+    private static final Map<String, KafkaClient> REGION_CLIENTS = new ConcurrentHashMap<>();
+    private static volatile KafkaClient client;
 
+    /**
+     * Returns the container wide KafkaClient. The client is thread safe and credentials are injected per request by
+     * the proxy, so it is built once and reused by every invocation the JVM serves, until it is discarded.
+     * @return KafkaClient
+     */
     public static KafkaClient getClient(){
-        return KafkaClient.builder()
+        KafkaClient current = client;
+        if (current == null) {
+            synchronized (ClientBuilder.class) {
+                current = client;
+                if (current == null) {
+                    current = StartupProfiler.measure("kafkaClient", () -> KafkaClient.builder()
+                        .httpClient(LambdaWrapper.HTTP_CLIENT)
+                        .build());
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the container wide KafkaClient of a region, built on first use and sharing the HTTP client of the
+     * plugin with the other clients.
+     * @param region region of the client, e.g. us-east-1
+     * @return KafkaClient
+     */
+    static KafkaClient getClient(final String region) {
+        return REGION_CLIENTS.computeIfAbsent(region, name -> KafkaClient.builder()
+            .region(Region.of(name))
             .httpClient(LambdaWrapper.HTTP_CLIENT)
-            .build();
+            .build());
+    }
+
+    /**
+     * Closes the container wide KafkaClient, the next {@link #getClient()} builds a new one. Only to be called while
+     * no invocation is running, e.g. before a checkpoint. The clients of a region and the HTTP client of the plugin
+     * are left open.
+     */
+    static synchronized void discardClient() {
+        final KafkaClient current = client;
+        client = null;
+        if (current != null) {
+            current.close();
+        }
     }
 }
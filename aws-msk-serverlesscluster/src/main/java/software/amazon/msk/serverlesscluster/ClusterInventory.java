@@ -0,0 +1,246 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Inventory of the serverless clusters of an account across regions, for fleet jobs rather than CloudFormation. Every
+ * region is paged by a thread of its own through a client of its own, so a listing takes about as long as the slowest
+ * region instead of the sum of all of them.
+ *
+ * A region pages ListClustersV2 one page after the other, up to {@value #MAX_PAGES_PER_REGION} pages and until its
+ * deadline, behind the circuit breakers of the region. Every page is called with the time left until the deadline as
+ * its SDK call timeout, so a stuck page cannot hold the region past it. The clusters of all regions go to a single
+ * consumer, one at a time, as their pages arrive. A region that fails or runs out of time ends with its error in its
+ * {@link RegionResult} without affecting the others, and the clusters it listed before stay listed.
+ */
+public class ClusterInventory {
+    static final int MAX_PAGES_PER_REGION = 100;
+    static final int MAX_PARALLEL_REGIONS = 16;
+    static final Duration REGION_TIMEOUT = Duration.ofMinutes(2L);
+
+    private final Function<String, ProxyClient<KafkaClient>> proxyClients;
+    private final int maxPagesPerRegion;
+    private final Duration regionTimeout;
+    private final Clock clock;
+
+    ClusterInventory(final Function<String, ProxyClient<KafkaClient>> proxyClients, final int maxPagesPerRegion,
+                     final Duration regionTimeout, final Clock clock) {
+        this.proxyClients = proxyClients;
+        this.maxPagesPerRegion = maxPagesPerRegion;
+        this.regionTimeout = regionTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * @return an inventory calling MSK with the container wide client of each region and its default credentials
+     */
+    static ClusterInventory withRegionClients() {
+        return new ClusterInventory(ClusterInventory::regionProxyClient, MAX_PAGES_PER_REGION, REGION_TIMEOUT,
+            Clock.systemUTC());
+    }
+
+    /**
+     * Lists the serverless clusters of the regions in parallel
+     * @param regions regions to list
+     * @param clusterNamePrefix only list clusters whose name starts with it, every cluster when null
+     * @param clusters called with the region and every cluster listed, by one region at a time
+     * @return the outcome of every region, in the order of the regions
+     */
+    List<RegionResult> list(final List<String> regions, final String clusterNamePrefix,
+                            final BiConsumer<String, Cluster> clusters) {
+        if (regions.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(regions.size(), MAX_PARALLEL_REGIONS),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "msk-inventory");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            final List<Future<RegionResult>> futures = new ArrayList<>(regions.size());
+            for (final String region : regions) {
+                futures.add(CompletableFuture.supplyAsync(() -> listRegion(region, clusterNamePrefix, clusters),
+                    executor));
+            }
+            final List<RegionResult> results = new ArrayList<>(regions.size());
+            for (final Future<RegionResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Inventory interrupted", e);
+        } catch (final ExecutionException e) {
+            // listRegion keeps the errors of a region in its result
+            throw new IllegalStateException("Inventory failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RegionResult listRegion(final String region, final String clusterNamePrefix,
+                                    final BiConsumer<String, Cluster> clusters) {
+        final Instant startedAt = clock.instant();
+        final Instant deadline = startedAt.plus(regionTimeout);
+        int pages = 0;
+        int listed = 0;
+        String error = null;
+        try {
+            final ProxyClient<KafkaClient> proxyClient = proxyClients.apply(region);
+            String nextToken = null;
+            do {
+                if (pages == maxPagesPerRegion) {
+                    error = String.format("Stopped after %d pages", pages);
+                    break;
+                }
+                final Duration untilDeadline = Duration.between(clock.instant(), deadline);
+                if (untilDeadline.isNegative() || untilDeadline.isZero()) {
+                    error = String.format("Timed out after %d pages", pages);
+                    break;
+                }
+                final ListClustersV2Request request = Translator.translateToListRequest(nextToken, clusterNamePrefix,
+                    ListHandler.MAX_RESULTS_LIMIT).toBuilder()
+                    .overrideConfiguration(overrideConfiguration -> overrideConfiguration.apiCallTimeout(untilDeadline))
+                    .build();
+                final ListClustersV2Response response =
+                    proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::listClustersV2);
+                pages++;
+                synchronized (clusters) {
+                    for (final Cluster cluster : response.clusterInfoList()) {
+                        clusters.accept(region, cluster);
+                        listed++;
+                    }
+                }
+                nextToken = response.nextToken();
+            } while (nextToken != null);
+        } catch (final RuntimeException e) {
+            // one region failing must not take down the inventory of the others
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        return new RegionResult(region, listed, pages, Duration.between(startedAt, clock.instant()), error);
+    }
+
+    private static ProxyClient<KafkaClient> regionProxyClient(final String region) {
+        return new InterceptingProxyClient(new DirectProxyClient(ClientBuilder.getClient(region)),
+            Arrays.asList(new CircuitBreakerInterceptor(CircuitBreakerRegistry.getInstance(), region),
+                new ApiCallEventsInterceptor()));
+    }
+
+    /**
+     * Lists the serverless clusters of the given regions with the default credentials of the SDK, printing a JSON
+     * line per cluster to stdout and a JSON line per region, with its timing and error, to stderr
+     * @param args {@code [--prefix <cluster name prefix>] <region>...}
+     */
+    public static void main(final String[] args) {
+        final List<String> regions = new ArrayList<>(Arrays.asList(args));
+        String clusterNamePrefix = null;
+        if (regions.size() >= 2 && "--prefix".equals(regions.get(0))) {
+            clusterNamePrefix = regions.get(1);
+            regions.subList(0, 2).clear();
+        }
+        if (regions.isEmpty()) {
+            System.err.println("Usage: ClusterInventory [--prefix <cluster name prefix>] <region>...");
+            System.exit(2);
+        }
+        final List<RegionResult> results = withRegionClients().list(regions, clusterNamePrefix,
+            (region, cluster) -> System.out.println(String.format(
+                "{\"region\":\"%s\",\"clusterArn\":\"%s\",\"clusterName\":\"%s\",\"state\":\"%s\"}",
+                region, cluster.clusterArn(), cluster.clusterName(), cluster.stateAsString())));
+        boolean failed = false;
+        for (final RegionResult result : results) {
+            System.err.println(result.toJson());
+            failed |= result.error != null;
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * Outcome of listing one region
+     */
+    static final class RegionResult {
+        final String region;
+        final int clusters;
+        final int pages;
+        final Duration duration;
+        // null when every page of the region was listed
+        final String error;
+
+        RegionResult(final String region, final int clusters, final int pages, final Duration duration,
+                     final String error) {
+            this.region = region;
+            this.clusters = clusters;
+            this.pages = pages;
+            this.duration = duration;
+            this.error = error;
+        }
+
+        /**
+         * @return the result as a single line JSON object
+         */
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"region\":\"%s\",\"clusters\":%d,\"pages\":%d,\"millis\":%d,"
+                    + "\"error\":%s}", region, clusters, pages, duration.toMillis(),
+                error == null ? "null" : "\"" + error.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+        }
+    }
+
+    /**
+     * Proxy client calling MSK as is, the client carrying its own credentials
+     */
+    static final class DirectProxyClient implements ProxyClient<KafkaClient> {
+        private final KafkaClient client;
+
+        DirectProxyClient(final KafkaClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse,
+            IterableT extends SdkIterable<ResponseT>>
+        IterableT injectCredentialsAndInvokeIterableV2(final RequestT request,
+                                                       final Function<RequestT, IterableT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public KafkaClient client() {
+            return client;
+        }
+    }
+}
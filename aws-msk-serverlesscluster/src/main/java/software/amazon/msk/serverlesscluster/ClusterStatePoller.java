@@ -0,0 +1,227 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Container wide view of the state of the serverless clusters being stabilized.
+ *
+ * When a warm container is stabilizing more than one cluster of the same account and region, a single paged
+ * ListClustersV2 sweep refreshes the state of all of them, so the number of control plane calls grows with the number
+ * of listing pages rather than with the number of clusters. A cluster that is the only one in flight, or that is
+ * missing from the latest sweep, is still described directly so callers keep the DescribeClusterV2 error semantics.
+ *
+ * Handlers call MSK with the credentials of their invocation, so a sweep is only shared between callers with the
+ * same credentials: a caller never sees a state its own credentials were not allowed to list. The credentials of an
+ * invocation are learnt from its first call, which is therefore always a describe.
+ */
+public class ClusterStatePoller {
+    static final Duration SNAPSHOT_MAX_AGE = Duration.ofSeconds(15L);
+    static final Duration IN_FLIGHT_EXPIRY = Duration.ofMinutes(5L);
+    static final Duration LISTING_FAILURE_BACKOFF = Duration.ofMinutes(5L);
+    static final int MAX_LIST_PAGES = 10;
+
+    private static final ClusterStatePoller INSTANCE = new ClusterStatePoller(Clock.systemUTC());
+
+    private final Clock clock;
+    private final Map<String, Instant> inFlightClusters = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> snapshotLocks = new ConcurrentHashMap<>();
+    // access key of the credentials each invocation's proxy client calls MSK with, gone with the proxy client
+    private final Map<ProxyClient<KafkaClient>, String> callers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    ClusterStatePoller(final Clock clock) {
+        this.clock = clock;
+    }
+
+    static ClusterStatePoller getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current state of the cluster identified by the model arn, registering it as in flight
+     * @param proxyClient the aws service client to make the call
+     * @param model resource model
+     * @param invocationTimer time budget of the current invocation, bounding the describe and list calls
+     * @return current cluster state
+     */
+    ClusterState currentState(final ProxyClient<KafkaClient> proxyClient, final ResourceModel model,
+                              final InvocationTimer invocationTimer) {
+        final HandlerEvents.Span poll = HandlerEvents.stabilizationPoll(model.getArn());
+        try {
+            final ClusterState state = pollState(proxyClient, model, invocationTimer);
+            poll.outcome(String.valueOf(state));
+            return state;
+        } catch (final RuntimeException e) {
+            poll.outcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            poll.close();
+        }
+    }
+
+    private ClusterState pollState(final ProxyClient<KafkaClient> proxyClient, final ResourceModel model,
+                                   final InvocationTimer invocationTimer) {
+        final String clusterArn = model.getArn();
+        final String scope = scopeOf(clusterArn);
+        if (scope == null) {
+            return describeState(proxyClient, model, invocationTimer);
+        }
+
+        final Instant now = clock.instant();
+        inFlightClusters.put(clusterArn, now);
+
+        final String caller = callers.get(proxyClient);
+        if (countInFlight(scope, now) > 1 && caller != null) {
+            final ClusterState listedState =
+                refreshIfStale(proxyClient, scope + ":" + caller, now, invocationTimer).states.get(clusterArn);
+            if (listedState != null) {
+                return listedState;
+            }
+        }
+        return describeState(proxyClient, model, invocationTimer);
+    }
+
+    /**
+     * Stops tracking a cluster once its stabilization reached a terminal outcome
+     * @param clusterArn arn of the cluster
+     */
+    void release(final String clusterArn) {
+        if (clusterArn != null) {
+            inFlightClusters.remove(clusterArn);
+        }
+    }
+
+    private ClusterState describeState(final ProxyClient<KafkaClient> proxyClient, final ResourceModel model,
+                                       final InvocationTimer invocationTimer) {
+        return proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(model, invocationTimer),
+            request -> {
+                rememberCaller(proxyClient, request);
+                return proxyClient.client().describeClusterV2(request);
+            }).clusterInfo().state();
+    }
+
+    private int countInFlight(final String scope, final Instant now) {
+        int count = 0;
+        final Iterator<Map.Entry<String, Instant>> iterator = inFlightClusters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Instant> entry = iterator.next();
+            if (entry.getValue().plus(IN_FLIGHT_EXPIRY).isBefore(now)) {
+                // the rest of this stabilization landed in another container
+                iterator.remove();
+            } else if (scope.equals(scopeOf(entry.getKey()))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Snapshot refreshIfStale(final ProxyClient<KafkaClient> proxyClient, final String snapshotKey,
+                                    final Instant now, final InvocationTimer invocationTimer) {
+        synchronized (snapshotLocks.computeIfAbsent(snapshotKey, key -> new Object())) {
+            final Snapshot current = snapshots.get(snapshotKey);
+            if (current != null && current.isUsableAt(now)) {
+                return current;
+            }
+            Snapshot refreshed;
+            try {
+                refreshed = new Snapshot(listStates(proxyClient, invocationTimer), now, now.plus(SNAPSHOT_MAX_AGE));
+            } catch (final SdkException e) {
+                // e.g. a caller without kafka:ListClustersV2 or a sweep running out of time, fall back to per
+                // cluster describes for a while
+                refreshed = new Snapshot(Collections.emptyMap(), now, now.plus(LISTING_FAILURE_BACKOFF));
+            }
+            removeExpiredSnapshots(now);
+            snapshots.put(snapshotKey, refreshed);
+            return refreshed;
+        }
+    }
+
+    private void removeExpiredSnapshots(final Instant now) {
+        // the snapshots of credentials no longer in use would otherwise stay for the life of the container. A lock
+        // removed while held only lets a concurrent caller list once more.
+        final Iterator<Map.Entry<String, Snapshot>> iterator = snapshots.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Snapshot> entry = iterator.next();
+            if (!entry.getValue().isUsableAt(now)) {
+                iterator.remove();
+                snapshotLocks.remove(entry.getKey());
+            }
+        }
+    }
+
+    private Map<String, ClusterState> listStates(final ProxyClient<KafkaClient> proxyClient,
+                                                 final InvocationTimer invocationTimer) {
+        final Map<String, ClusterState> states = new HashMap<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            final ListClustersV2Response listClustersResponse = proxyClient.injectCredentialsAndInvokeV2(
+                Translator.translateToListRequest(nextToken, invocationTimer), request -> {
+                    rememberCaller(proxyClient, request);
+                    return proxyClient.client().listClustersV2(request);
+                });
+            for (final Cluster cluster : listClustersResponse.clusterInfoList()) {
+                states.put(cluster.clusterArn(), cluster.state());
+            }
+            nextToken = listClustersResponse.nextToken();
+        } while (nextToken != null && ++pages < MAX_LIST_PAGES);
+        return states;
+    }
+
+    private void rememberCaller(final ProxyClient<KafkaClient> proxyClient, final AwsRequest request) {
+        final String caller = request.overrideConfiguration()
+            .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
+            .map(credentialsProvider -> credentialsProvider.resolveCredentials().accessKeyId())
+            .orElse(null);
+        if (caller != null) {
+            callers.put(proxyClient, caller);
+        }
+    }
+
+    /**
+     * Account and region of a cluster arn (arn:partition:kafka:region:account:cluster/name/uuid)
+     */
+    private static String scopeOf(final String clusterArn) {
+        if (clusterArn == null) {
+            return null;
+        }
+        final String[] arnParts = clusterArn.split(":", 6);
+        if (arnParts.length < 6 || arnParts[3].isEmpty() || arnParts[4].isEmpty()) {
+            return null;
+        }
+        return arnParts[3] + ":" + arnParts[4];
+    }
+
+    private static final class Snapshot {
+        private final Map<String, ClusterState> states;
+        private final Instant fetchedAt;
+        private final Instant expiresAt;
+
+        private Snapshot(final Map<String, ClusterState> states, final Instant fetchedAt, final Instant expiresAt) {
+            this.states = states;
+            this.fetchedAt = fetchedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isUsableAt(final Instant now) {
+            return !now.isBefore(fetchedAt) && now.isBefore(expiresAt);
+        }
+    }
+}
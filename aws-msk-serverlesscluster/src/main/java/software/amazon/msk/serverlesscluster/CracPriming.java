@@ -0,0 +1,152 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.ClusterType;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.awssdk.services.kafka.model.Serverless;
+import software.amazon.awssdk.services.kafka.model.ServerlessClientAuthentication;
+import software.amazon.awssdk.services.kafka.model.ServerlessSasl;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+/**
+ * Priming for checkpoint/restore with CRaC, or a runtime taking snapshots through the same API: before a checkpoint
+ * the handler code runs on synthetic data, so the classes it needs, and the code the JIT compiled for it, are part of
+ * the snapshot and a restored process starts where a warm one is.
+ *
+ * The priming translates a synthetic model to each MSK request and a synthetic cluster back, diffs tags, serializes
+ * models and progress events with the plugin's serializer and builds the MSK client. It makes no call, so no
+ * connection or credentials exist when the checkpoint is taken. The MSK client is then discarded, and every restored
+ * process builds its own with fresh SDK state and random seeds. The stabilization history and traffic recording
+ * files are left alone, as open files are not allowed in a checkpoint.
+ *
+ * The priming is only registered by {@link #main(String[])}, so a process that is never checkpointed does not load
+ * the CRaC API when the handlers load.
+ */
+public class CracPriming implements Resource {
+    private static final CracPriming INSTANCE = new CracPriming();
+    private static final String CLUSTER_ARN =
+        "arn:aws:kafka:us-east-1:123456789012:cluster/priming/abcd1234-ab12-cd34-ef56-abcdef123456-s1";
+    private static final TypeReference<ResourceModel> MODEL_TYPE = new TypeReference<ResourceModel>() {
+    };
+
+    private final Serializer serializer = new Serializer();
+
+    /**
+     * Registers the priming with the global CRaC context. The context only keeps a weak reference, the registered
+     * instance is kept here.
+     */
+    static void register() {
+        Core.getGlobalContext().register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) throws Exception {
+        prime();
+        // only the client the priming built, the regional clients of a cluster inventory are not its own
+        ClientBuilder.discardClient();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        // the MSK client is built again by the first invocation needing it
+    }
+
+    void prime() throws Exception {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("Environment", "priming");
+        tags.put("Owner", "msk");
+        final ResourceModel model = ResourceModel.builder()
+            .arn(CLUSTER_ARN)
+            .clusterName("priming")
+            .vpcConfigs(Collections.singleton(VpcConfig.builder()
+                .subnetIds(Collections.singleton("subnet-0123456789abcdef0"))
+                .securityGroups(Collections.singleton("sg-0123456789abcdef0"))
+                .build()))
+            .clientAuthentication(ClientAuthentication.builder()
+                .sasl(Sasl.builder().iam(Iam.builder().enabled(true).build()).build())
+                .build())
+            .tags(tags)
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .previousResourceState(model)
+            .desiredResourceTags(new HashMap<>(Collections.singletonMap("Stack", "priming")))
+            .build();
+
+        final InvocationTimer invocationTimer = InvocationTimer.start();
+        Translator.translateToCreateRequest(model, invocationTimer);
+        Translator.translateToReadRequest(model, invocationTimer);
+        Translator.translateToDeleteRequest(model, invocationTimer);
+        Translator.translateToListRequest(null);
+        Translator.translateToGetBootstrapBrokersRequest(model, invocationTimer);
+        Translator.translateToTagResourceRequest(model, tags, invocationTimer);
+        Translator.translateToUntagResourceRequest(model, tags.keySet(), invocationTimer);
+        final Cluster cluster = Cluster.builder()
+            .clusterArn(CLUSTER_ARN)
+            .clusterName("priming")
+            .clusterType(ClusterType.SERVERLESS)
+            .state(ClusterState.ACTIVE)
+            .serverless(Serverless.builder()
+                .vpcConfigs(software.amazon.awssdk.services.kafka.model.VpcConfig.builder()
+                    .subnetIds("subnet-0123456789abcdef0")
+                    .securityGroupIds("sg-0123456789abcdef0")
+                    .build())
+                .clientAuthentication(ServerlessClientAuthentication.builder()
+                    .sasl(ServerlessSasl.builder()
+                        .iam(software.amazon.awssdk.services.kafka.model.Iam.builder().enabled(true).build())
+                        .build())
+                    .build())
+                .build())
+            .tags(tags)
+            .build();
+        final ResourceModel read = Translator.translateFromReadResponse(
+            DescribeClusterV2Response.builder().clusterInfo(cluster).build());
+        Translator.translateFromListResponse(ListClustersV2Response.builder().clusterInfoList(cluster).build());
+
+        TagHelper.generateTagsForCreate(request);
+        TagHelper.generateTagsToAdd(TagHelper.getPreviouslyAttachedTags(request), TagHelper.getNewDesiredTags(request));
+        TagHelper.generateTagsToRemove(TagHelper.getPreviouslyAttachedTags(request),
+            TagHelper.getNewDesiredTags(request));
+
+        final String json = serializer.serialize(read);
+        serializer.<ResourceModel>deserialize(json, MODEL_TYPE);
+        serializer.serialize(ProgressEvent.defaultInProgressHandler(new CallbackContext(), 30, read));
+        serializer.serialize(ProgressEvent.defaultSuccessHandler(read));
+
+        ClientBuilder.getClient();
+    }
+
+    /**
+     * Primes and takes a checkpoint, then, in the restored process, handles the request in the file named by the
+     * first argument as {@code HandlerWrapperExecutable} would. The file is read after the restore, so one snapshot
+     * serves any request.
+     * @param args path of the request file
+     * @throws Exception when the checkpoint, the restore or the request fails
+     */
+    public static void main(final String[] args) throws Exception {
+        register();
+        try {
+            Core.checkpointRestore();
+        } catch (final UnsupportedOperationException e) {
+            System.err.println(String.format("Checkpoint not taken, no CRaC support in this JVM: %s", e.getMessage()));
+        }
+        final String request = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        HandlerWrapperExecutable.main(new String[] {request});
+    }
+}
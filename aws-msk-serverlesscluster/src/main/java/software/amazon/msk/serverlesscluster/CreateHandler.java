@@ -1,13 +1,20 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.ConflictException;
 import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.CreateClusterV2Response;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -15,7 +22,27 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 
 public class CreateHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String CALL_GRAPH = "AWS-MSK-ServerlessCluster::Create";
+
+    private final ReadHandler readHandler = new ReadHandler();
+    private final KafkaReadinessProbe readinessProbe;
+    private final Supplier<StabilizationStats> stabilizationStats;
+
+    public CreateHandler() {
+        this(InvocationTimer::start, KafkaReadinessProbe.fromEnvironment(), StabilizationStats::getInstance);
+    }
+
+    CreateHandler(final Supplier<InvocationTimer> invocationTimers,
+                  final Supplier<StabilizationStats> stabilizationStats) {
+        this(invocationTimers, KafkaReadinessProbe.fromEnvironment(), stabilizationStats);
+    }
+
+    CreateHandler(final Supplier<InvocationTimer> invocationTimers, final KafkaReadinessProbe readinessProbe,
+                  final Supplier<StabilizationStats> stabilizationStats) {
+        super(invocationTimers);
+        this.readinessProbe = readinessProbe;
+        this.stabilizationStats = stabilizationStats;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -24,55 +51,114 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
+        final InvocationTimer invocationTimer = invocationTimers.get();
         final ResourceModel model = request.getDesiredResourceState();
         final String clientRequestToken = request.getClientRequestToken();
 
         logger.log( String.format("[Request: %s] Handling create operation, resource model: %s", clientRequestToken,
             model));
 
-        model.setTags(TagHelper.generateTagsForCreate(request));
+        model.setTags(HandlerEvents.phase(CALL_GRAPH, "generateTags", () -> TagHelper.generateTagsForCreate(request)));
+
+        final String region = request.getRegion();
+        final Duration firstPollDelay = stabilizationStats.get().firstPollDelay(region,
+            StabilizationStats.Operation.CREATE, STABILIZATION_POLL_INTERVAL);
+        final StabilizationDelay stabilizationDelay = new StabilizationDelay(firstPollDelay,
+            STABILIZATION_POLL_INTERVAL, STABILIZATION_TIMEOUT_CREATE,
+            () -> invocationTimer.since(callbackContext.getStabilizationStartedAt()));
 
         return ProgressEvent.progress(model, callbackContext)
+            .then(progress -> validateModel(progress, clientRequestToken, logger))
             .then(progress ->
-                proxy.initiate("AWS-MSK-ServerlessCluster::Create", proxyClient, model, callbackContext)
-                    .translateToServiceRequest(Translator::translateToCreateRequest)
-                    .backoffDelay(STABILIZATION_DELAY_CREATE)
-                    .makeServiceCall(this::createResource)
-                    .stabilize(this::stabilizedOnCreate)
+                proxy.initiate(CALL_GRAPH, proxyClient, model, callbackContext)
+                    .translateToServiceRequest(_model -> HandlerEvents.phase(CALL_GRAPH, "translateToServiceRequest",
+                        () -> Translator.translateToCreateRequest(_model, invocationTimer)))
+                    .backoffDelay(stabilizationDelay)
+                    .makeServiceCall((createClusterRequest, _proxyClient) -> HandlerEvents.phase(CALL_GRAPH,
+                        "makeServiceCall", () -> createResource(createClusterRequest, _proxyClient, callbackContext,
+                            invocationTimer, logger)))
+                    .stabilize((createClusterRequest, createClusterResponse, _proxyClient, _resourceModel,
+                                _callbackContext) -> HandlerEvents.phase(CALL_GRAPH, "stabilize",
+                        () -> stabilizedOnCreate(createClusterRequest, createClusterResponse, _proxyClient,
+                            _resourceModel, _callbackContext, region, firstPollDelay, invocationTimer, logger)))
                     .handleError((createClusterRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
                         handleError(exception, model,  callbackContext, logger, clientRequestToken))
                     .progress())
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger,
+                invocationTimer));
+    }
+
+    /**
+     * Pre-flight validation of the desired model, failing fast before any MSK api is called
+     * @param progress progress event carrying the desired resource model
+     * @param clientRequestToken client request token
+     * @param logger logger of the current invocation
+     * @return the unchanged progress event, or a failed event with InvalidRequest listing every violation
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> validateModel(
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final String clientRequestToken,
+        final Logger logger) {
+
+        final List<String> violations = ResourceModelValidator.validateForCreate(progress.getResourceModel());
+        if (violations.isEmpty()) {
+            return progress;
+        }
+
+        final String message = String.join("; ", violations);
+        logger.log(String.format("[ClientRequestToken: %s] Property validation failure while creating cluster: %s",
+            clientRequestToken, message));
+        return ProgressEvent.failed(progress.getResourceModel(), progress.getCallbackContext(),
+            HandlerErrorCode.InvalidRequest, message);
     }
 
     /**
      * Handler execute operation to call create cluster api
      * @param createClusterRequest the aws service request to create a resource
      * @param proxyClient the aws service client to make the call
+     * @param callbackContext callback context
+     * @param invocationTimer time budget of the current invocation, whose clock times the stabilization
+     * @param logger logger of the current invocation
      * @return awsResponse create resource response
      */
     private CreateClusterV2Response createResource(
         final CreateClusterV2Request createClusterRequest,
-        final ProxyClient<KafkaClient> proxyClient) {
+        final ProxyClient<KafkaClient> proxyClient,
+        final CallbackContext callbackContext,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
         try {
-            return proxyClient
+            final CreateClusterV2Response createClusterResponse = proxyClient
                 .injectCredentialsAndInvokeV2(createClusterRequest,proxyClient.client()::createClusterV2);
+            callbackContext.setStabilizationStartedAt(invocationTimer.currentTimeMillis());
+            return createClusterResponse;
         } catch (final ConflictException e) {
             logger.log(String.format("Cluster with name %s already exists: %s ", createClusterRequest.clusterName(),
                 e.getMessage()));
             throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, createClusterRequest.clusterName(), e);
+        } catch (final ApiCallTimeoutException e) {
+            // the cluster may have been created, so the call is not repeated on a callback
+            logger.log(String.format("CreateClusterV2 for cluster %s timed out: %s", createClusterRequest.clusterName(),
+                e.getMessage()));
+            throw new CfnGeneralServiceException("CreateClusterV2", e);
         }
     }
 
     /**
-     * Handler stabilize operation to wait till resource reaches terminal state by calling DescribeClusterV2 api
+     * Handler stabilize operation to wait till resource reaches terminal state, reading the cluster state through the
+     * shared {@link ClusterStatePoller}. The first check uses the state already returned by CreateClusterV2, which
+     * leaves the first real poll to the stabilization delay. While the cluster is creating and the invocation has time
+     * left, the next poll happens within this invocation instead of after a callback. With the readiness probe
+     * enabled, an active cluster is only stabilized once its brokers serve metadata.
      * @param createClusterRequest the aws service request to create a resource
      * @param createClusterResponse the aws service response to create a resource
      * @param proxyClient the aws service client to make the call
      * @param model resource model
      * @param callbackContext callback context
+     * @param region region of the cluster
+     * @param firstPollDelay wait before the first poll after the create call
+     * @param invocationTimer time budget of the current invocation
+     * @param logger logger of the current invocation
      * @return boolean state of stabilized or not
      */
     private boolean stabilizedOnCreate(
@@ -80,19 +166,51 @@ public class CreateHandler extends BaseHandlerStd {
         final CreateClusterV2Response createClusterResponse,
         final ProxyClient<KafkaClient> proxyClient,
         final ResourceModel model,
-        final CallbackContext callbackContext) {
+        final CallbackContext callbackContext,
+        final String region,
+        final Duration firstPollDelay,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
 
         if (model.getArn() == null) {
             model.setArn(createClusterResponse.clusterArn());
         }
 
         final String clusterArn = model.getArn();
-        final ClusterState currentClusterState =
-            proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(model),
-                proxyClient.client()::describeClusterV2).clusterInfo().state();
+        ClusterState currentClusterState;
+        Duration nextPollDelay = STABILIZATION_POLL_INTERVAL;
+        if (!callbackContext.isCreateResponseStateConsumed() && createClusterResponse.state() != null) {
+            // the replayed create response is stale on later checks, so it is only trusted once
+            callbackContext.setCreateResponseStateConsumed(true);
+            currentClusterState = createClusterResponse.state();
+            nextPollDelay = firstPollDelay;
+        } else {
+            currentClusterState = ClusterStatePoller.getInstance().currentState(proxyClient, model,
+                invocationTimer);
+        }
+
+        while (currentClusterState == ClusterState.CREATING && invocationTimer.sleepIfTimeAllows(nextPollDelay)) {
+            currentClusterState = ClusterStatePoller.getInstance().currentState(proxyClient, model,
+                invocationTimer);
+            nextPollDelay = STABILIZATION_POLL_INTERVAL;
+        }
 
         switch (currentClusterState) {
             case ACTIVE:
+                ClusterStatePoller.getInstance().release(clusterArn);
+                if (callbackContext.getActiveObservedAt() == null) {
+                    callbackContext.setActiveObservedAt(invocationTimer.currentTimeMillis());
+                    if (callbackContext.getStabilizationStartedAt() != null) {
+                        stabilizationStats.get().record(region, StabilizationStats.Operation.CREATE,
+                            Duration.ofMillis(callbackContext.getActiveObservedAt()
+                                - callbackContext.getStabilizationStartedAt()));
+                    }
+                }
+                if (!dataPlaneReady(proxyClient, model, callbackContext, invocationTimer, logger)) {
+                    logger.log(String.format("Cluster %s is active, its brokers do not serve metadata yet",
+                        clusterArn));
+                    return false;
+                }
                 logger.log(String.format("Cluster %s is stabilized, current state is %s", clusterArn,
                     currentClusterState));
                 return true;
@@ -101,9 +219,76 @@ public class CreateHandler extends BaseHandlerStd {
                     currentClusterState));
                 return false;
             default:
+                ClusterStatePoller.getInstance().release(clusterArn);
                 logger.log(String.format("Cluster %s reached unexpected state %s", clusterArn,
                     currentClusterState));
                 throw new CfnNotStabilizedException(ResourceModel.TYPE_NAME, model.getArn());
         }
     }
+
+    /**
+     * Probes the brokers of an active cluster until they serve metadata, waiting between probes within the invocation
+     * while it has time left. A cluster whose brokers cannot be probed, or that stayed unready for
+     * {@link KafkaReadinessProbe#MAX_WAIT} after becoming active, is treated as ready.
+     * @param proxyClient the aws service client to make the call
+     * @param model resource model
+     * @param callbackContext callback context
+     * @param invocationTimer time budget of the current invocation
+     * @param logger logger of the current invocation
+     * @return whether the cluster is ready for clients
+     */
+    private boolean dataPlaneReady(
+        final ProxyClient<KafkaClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext callbackContext,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
+
+        if (!readinessProbe.isEnabled()) {
+            return true;
+        }
+
+        final String clusterArn = model.getArn();
+        String bootstrapServers = BootstrapBrokersCache.getInstance().get(clusterArn);
+        if (bootstrapServers == null) {
+            bootstrapServers = proxyClient.injectCredentialsAndInvokeV2(
+                Translator.translateToGetBootstrapBrokersRequest(model, invocationTimer),
+                proxyClient.client()::getBootstrapBrokers).bootstrapBrokerStringSaslIam();
+            BootstrapBrokersCache.getInstance().put(clusterArn, bootstrapServers);
+        }
+
+        final String probedServers = bootstrapServers;
+        KafkaReadinessProbe.Result result = HandlerEvents.phase(CALL_GRAPH, "readinessProbe",
+            () -> readinessProbe.probe(probedServers, logger));
+        while (result == KafkaReadinessProbe.Result.NOT_READY && !waitedTooLong(callbackContext, invocationTimer)
+            && invocationTimer.sleepIfTimeAllows(KafkaReadinessProbe.PROBE_INTERVAL)) {
+            result = HandlerEvents.phase(CALL_GRAPH, "readinessProbe",
+                () -> readinessProbe.probe(probedServers, logger));
+        }
+
+        final long sinceActiveMillis = invocationTimer.since(callbackContext.getActiveObservedAt()).toMillis();
+        switch (result) {
+            case READY:
+                logger.log(String.format("Cluster %s served metadata %d ms after becoming active", clusterArn,
+                    sinceActiveMillis));
+                return true;
+            case UNAVAILABLE:
+                logger.log(String.format("Brokers of cluster %s cannot be probed, not waiting for them",
+                    clusterArn));
+                return true;
+            default:
+                if (waitedTooLong(callbackContext, invocationTimer)) {
+                    logger.log(String.format("Cluster %s served no metadata %d ms after becoming active, not " +
+                        "waiting any longer", clusterArn, sinceActiveMillis));
+                    return true;
+                }
+                return false;
+        }
+    }
+
+    private static boolean waitedTooLong(final CallbackContext callbackContext,
+                                         final InvocationTimer invocationTimer) {
+        return invocationTimer.since(callbackContext.getActiveObservedAt())
+            .compareTo(KafkaReadinessProbe.MAX_WAIT) >= 0;
+    }
 }
@@ -1,11 +1,16 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.BadRequestException;
 import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.DeleteClusterRequest;
 import software.amazon.awssdk.services.kafka.model.DeleteClusterResponse;
 import software.amazon.awssdk.services.kafka.model.NotFoundException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
@@ -17,7 +22,19 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String CALL_GRAPH = "AWS-MSK-ServerlessCluster::Delete";
+
+    private final Supplier<StabilizationStats> stabilizationStats;
+
+    public DeleteHandler() {
+        this(InvocationTimer::start, StabilizationStats::getInstance);
+    }
+
+    DeleteHandler(final Supplier<InvocationTimer> invocationTimers,
+                  final Supplier<StabilizationStats> stabilizationStats) {
+        super(invocationTimers);
+        this.stabilizationStats = stabilizationStats;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -26,18 +43,30 @@ public class DeleteHandler extends BaseHandlerStd {
         final ProxyClient<KafkaClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
+        final InvocationTimer invocationTimer = invocationTimers.get();
         final ResourceModel model = request.getDesiredResourceState();
         final String clientRequestToken = request.getClientRequestToken();
 
+        final String region = request.getRegion();
+        final Duration firstPollDelay = stabilizationStats.get().firstPollDelay(region,
+            StabilizationStats.Operation.DELETE, STABILIZATION_POLL_INTERVAL);
+        final StabilizationDelay stabilizationDelay = new StabilizationDelay(firstPollDelay,
+            STABILIZATION_POLL_INTERVAL, STABILIZATION_TIMEOUT_DELETE,
+            () -> invocationTimer.since(callbackContext.getStabilizationStartedAt()));
+
         return ProgressEvent.progress(model, callbackContext)
             .then(progress ->
-                proxy.initiate("AWS-MSK-ServerlessCluster::Delete", proxyClient, model, callbackContext)
-                    .translateToServiceRequest(Translator::translateToDeleteRequest)
-                    .backoffDelay(STABILIZATION_DELAY_DELETE)
-                    .makeServiceCall(this::deleteResource)
-                    .stabilize(this::stabilizedOnDelete)
+                proxy.initiate(CALL_GRAPH, proxyClient, model, callbackContext)
+                    .translateToServiceRequest(_model -> HandlerEvents.phase(CALL_GRAPH, "translateToServiceRequest",
+                        () -> Translator.translateToDeleteRequest(_model, invocationTimer)))
+                    .backoffDelay(stabilizationDelay)
+                    .makeServiceCall((deleteClusterRequest, _proxyClient) -> HandlerEvents.phase(CALL_GRAPH,
+                        "makeServiceCall", () -> deleteResource(deleteClusterRequest, _proxyClient, callbackContext,
+                            invocationTimer, logger)))
+                    .stabilize((deleteClusterRequest, deleteClusterResponse, _proxyClient, _resourceModel,
+                                _callbackContext) -> HandlerEvents.phase(CALL_GRAPH, "stabilize",
+                        () -> stabilizedOnDelete(deleteClusterRequest, deleteClusterResponse, _proxyClient,
+                            _resourceModel, _callbackContext, region, firstPollDelay, invocationTimer, logger)))
                     .handleError((deleteClusterRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
                         handleError(exception, model,  callbackContext, logger, clientRequestToken))
                     .done(
@@ -52,15 +81,26 @@ public class DeleteHandler extends BaseHandlerStd {
      * caller credentials, correct region and retry settings
      * @param deleteClusterRequest the aws service request to delete a resource
      * @param kafkaClient the aws service client to make the call
+     * @param callbackContext callback context
+     * @param invocationTimer time budget of the current invocation, whose clock times the stabilization
+     * @param logger logger of the current invocation
      * @return delete resource response
      */
     private DeleteClusterResponse deleteResource(
         final DeleteClusterRequest deleteClusterRequest,
-        final ProxyClient<KafkaClient> kafkaClient) {
+        final ProxyClient<KafkaClient> kafkaClient,
+        final CallbackContext callbackContext,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
         final String clusterArn = deleteClusterRequest.clusterArn();
         try {
-            return kafkaClient.injectCredentialsAndInvokeV2(deleteClusterRequest, kafkaClient.client()::deleteCluster);
+            final DeleteClusterResponse deleteClusterResponse =
+                kafkaClient.injectCredentialsAndInvokeV2(deleteClusterRequest, kafkaClient.client()::deleteCluster);
+            callbackContext.setStabilizationStartedAt(invocationTimer.currentTimeMillis());
+            BootstrapBrokersCache.getInstance().invalidate(clusterArn);
+            return deleteClusterResponse;
         } catch (NotFoundException e) {
+            BootstrapBrokersCache.getInstance().invalidate(clusterArn);
             logger.log(String.format("MSK API request for cluster deletion failed with message: %s, because the " +
                 "cluster %s does not exist", e.getMessage(), clusterArn));
             throw new CfnNotFoundException(e);
@@ -77,6 +117,10 @@ public class DeleteHandler extends BaseHandlerStd {
                     "with Exception %s", clusterArn, e.getMessage()));
                 throw new CfnInvalidRequestException(e);
             }
+        } catch (final ApiCallTimeoutException e) {
+            // the cluster may already be deleting, so the call is not repeated on a callback
+            logger.log(String.format("DeleteCluster for cluster %s timed out: %s", clusterArn, e.getMessage()));
+            throw new CfnGeneralServiceException("DeleteCluster", e);
         }
     }
 
@@ -88,6 +132,10 @@ public class DeleteHandler extends BaseHandlerStd {
      * @param proxyClient the aws service client to make the call
      * @param model resource model
      * @param callbackContext callback context
+     * @param region region of the cluster
+     * @param firstPollDelay wait before the first poll after the delete call
+     * @param invocationTimer time budget of the current invocation, used to poll again within the invocation
+     * @param logger logger of the current invocation
      * @return boolean state of stabilized or not
      */
     private boolean stabilizedOnDelete(
@@ -95,14 +143,32 @@ public class DeleteHandler extends BaseHandlerStd {
         final DeleteClusterResponse deleteClusterResponse,
         final ProxyClient<KafkaClient> proxyClient,
         final ResourceModel model,
-        final CallbackContext callbackContext) {
+        final CallbackContext callbackContext,
+        final String region,
+        final Duration firstPollDelay,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
 
         final String clusterArn = deleteClusterRequest.clusterArn();
 
         try {
-            ClusterState currentClusterState =
-                proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(model),
-                    proxyClient.client()::describeClusterV2).clusterInfo().state();
+            ClusterState currentClusterState;
+            Duration nextPollDelay = STABILIZATION_POLL_INTERVAL;
+            if (!callbackContext.isDeleteResponseStateConsumed() && deleteClusterResponse.state() != null) {
+                // the replayed delete response is stale on later checks, so it is only trusted once
+                callbackContext.setDeleteResponseStateConsumed(true);
+                currentClusterState = deleteClusterResponse.state();
+                nextPollDelay = firstPollDelay;
+            } else {
+                currentClusterState = ClusterStatePoller.getInstance().currentState(proxyClient, model,
+                    invocationTimer);
+            }
+            while (currentClusterState == ClusterState.DELETING
+                && invocationTimer.sleepIfTimeAllows(nextPollDelay)) {
+                currentClusterState = ClusterStatePoller.getInstance().currentState(proxyClient, model,
+                    invocationTimer);
+                nextPollDelay = STABILIZATION_POLL_INTERVAL;
+            }
 
             switch (currentClusterState) {
                 case DELETING:
@@ -110,17 +176,24 @@ public class DeleteHandler extends BaseHandlerStd {
                         currentClusterState));
                     return false;
                 default:
+                    ClusterStatePoller.getInstance().release(model.getArn());
                     logger.log(String.format("Cluster %s reached unexpected state %s", clusterArn,
                         currentClusterState));
                     throw new CfnNotStabilizedException(
                         ResourceModel.TYPE_NAME, model.getArn());
             }
         } catch (NotFoundException e) {
+            ClusterStatePoller.getInstance().release(model.getArn());
+            if (callbackContext.getStabilizationStartedAt() != null) {
+                stabilizationStats.get().record(region, StabilizationStats.Operation.DELETE,
+                    invocationTimer.since(callbackContext.getStabilizationStartedAt()));
+            }
             logger.log(String.format("Cluster %s is deleted", clusterArn));
             return true;
         } catch (BadRequestException e) {
             if (MSK_API_PARAM_NAME_CLUSTERARN.equals(e.invalidParameter()) && e.getMessage() != null
                 && e.getMessage().contains(INVALID_PARAMETER_EXCEPTION)) {
+                ClusterStatePoller.getInstance().release(model.getArn());
                 return true;
             } else {
                 throw new CfnInvalidRequestException(e);
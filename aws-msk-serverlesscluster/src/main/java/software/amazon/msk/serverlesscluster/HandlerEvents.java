@@ -0,0 +1,130 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.function.Supplier;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Java Flight Recorder events of the handlers: one per handler invocation, per phase of a {@code proxy.initiate} call
+ * chain, per MSK api call and per stabilization poll, each with its duration and outcome. Together with the CPU and
+ * allocation samples of a recording they attribute the work done in Translator, TagHelper and the SDK marshalling to
+ * the handler phase it happened in.
+ *
+ * The events cost an object allocation while no recording is running, and nothing at all on a JVM without JFR, where
+ * every span is a no-op. Setting the {@value #PROFILE_DIRECTORY_VARIABLE} environment variable additionally records a
+ * JFR file per handler operation into that directory, see {@link #profileOperation(String, Logger)}.
+ */
+public final class HandlerEvents {
+    static final String PROFILE_DIRECTORY_VARIABLE = "MSK_JFR_PROFILE_DIRECTORY";
+
+    static final Span NOOP = new Span() {
+        @Override
+        public void outcome(final String outcome) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    private HandlerEvents() {
+    }
+
+    /**
+     * @param handler simple name of the handler class
+     * @param clientRequestToken client request token of the invocation
+     * @return span of the invocation, closed when the handler returns
+     */
+    static Span invocation(final String handler, final String clientRequestToken) {
+        return JFR_AVAILABLE ? JfrEvents.invocation(handler, clientRequestToken) : NOOP;
+    }
+
+    /**
+     * @param callGraph name the call chain was initiated with, e.g. AWS-MSK-ServerlessCluster::Create
+     * @param phase phase of the chain, e.g. makeServiceCall
+     * @return span of the phase
+     */
+    static Span phase(final String callGraph, final String phase) {
+        return JFR_AVAILABLE ? JfrEvents.phase(callGraph, phase) : NOOP;
+    }
+
+    /**
+     * Runs a phase of a call chain inside its span
+     * @param callGraph name the call chain was initiated with
+     * @param phase phase of the chain
+     * @param body work of the phase
+     * @param <T> result type
+     * @return result of the phase
+     */
+    static <T> T phase(final String callGraph, final String phase, final Supplier<T> body) {
+        final Span span = phase(callGraph, phase);
+        try {
+            return body.get();
+        } catch (final RuntimeException e) {
+            span.outcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * @param api MSK api being called
+     * @return span of the call
+     */
+    static Span apiCall(final String api) {
+        return JFR_AVAILABLE ? JfrEvents.apiCall(api) : NOOP;
+    }
+
+    /**
+     * @param clusterArn arn of the cluster being polled
+     * @return span of the poll, its outcome being the observed cluster state
+     */
+    static Span stabilizationPoll(final String clusterArn) {
+        return JFR_AVAILABLE ? JfrEvents.stabilizationPoll(clusterArn) : NOOP;
+    }
+
+    /**
+     * Starts a JFR recording with the profiling settings covering one handler operation, when
+     * {@value #PROFILE_DIRECTORY_VARIABLE} is set. Closing the span writes the recording to
+     * {@code <directory>/<operation>-<epoch millis>.jfr}.
+     * @param operation name of the operation, used in the file name
+     * @param logger logger of the invocation, told when the recording cannot be started or written
+     * @return span of the recording
+     */
+    static Span profileOperation(final String operation, final Logger logger) {
+        final String directory = System.getenv(PROFILE_DIRECTORY_VARIABLE);
+        return profileOperation(directory, operation, logger);
+    }
+
+    static Span profileOperation(final String directory, final String operation, final Logger logger) {
+        if (!JFR_AVAILABLE || directory == null || directory.trim().isEmpty()) {
+            return NOOP;
+        }
+        return JfrEvents.profileOperation(directory.trim(), operation, logger);
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, HandlerEvents.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * A running event, committed when closed
+     */
+    interface Span extends AutoCloseable {
+        /**
+         * @param outcome outcome to record with the event, e.g. SUCCESS or the name of the exception
+         */
+        void outcome(String outcome);
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,173 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.core.exception.AbortedException;
+
+/**
+ * Hedging of idempotent read calls, shared by every invocation a warm container serves.
+ *
+ * When an attempt has not answered by the {@value #HEDGE_PERCENTILE} percentile of the recently observed attempt
+ * latencies, a second attempt is sent and the first answer wins. Every call earns a fraction of a hedge, so hedges
+ * stay within {@value #BUDGET_CALLS_PER_HEDGE}th of the calls and the extra load on the service stays in the low
+ * percents. The losing attempt is left to finish on its own thread, bounded by the call timeouts of its request, see
+ * {@link CallTimeouts}, so its outcome is still seen by the circuit breaker as a regular call.
+ *
+ * Attempts run on at most {@value #MAX_ATTEMPT_THREADS} threads. When all of them are busy, e.g. with losing attempts
+ * of a service that stopped answering, a read runs on the caller thread and a hedge is not sent.
+ *
+ * Hedging is off unless the {@value #ENABLED_VARIABLE} environment variable is {@code true}.
+ */
+public class HedgedReads {
+    static final String ENABLED_VARIABLE = "MSK_HEDGED_READS";
+    static final int MAX_SAMPLES = 256;
+    static final int MIN_SAMPLES = 20;
+    static final double HEDGE_PERCENTILE = 0.95;
+    static final long MIN_HEDGE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+    static final int BUDGET_CALLS_PER_HEDGE = 20;
+    static final int MAX_BUDGET_CALLS = 10 * BUDGET_CALLS_PER_HEDGE;
+    static final int MAX_ATTEMPT_THREADS = 8;
+
+    private static final HedgedReads INSTANCE = new HedgedReads(
+        Boolean.parseBoolean(System.getenv(ENABLED_VARIABLE)), attemptExecutor(MAX_ATTEMPT_THREADS));
+
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final long[] latencyNanos = new long[MAX_SAMPLES];
+    private int samples;
+    private int next;
+    private int budgetCalls;
+
+    HedgedReads(final boolean enabled, final ExecutorService executor) {
+        this.enabled = enabled;
+        this.executor = executor;
+    }
+
+    static HedgedReads getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param maxThreads most attempts running at once
+     * @return executor for attempts, rejecting an attempt rather than queueing it when all threads are busy
+     */
+    static ExecutorService attemptExecutor(final int maxThreads) {
+        return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "msk-hedged-read");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a read, hedging it when the first attempt is slow and the budget allows
+     * @param attempt one attempt of the read, safe to run twice concurrently
+     * @param <T> result type
+     * @return the result of the first attempt to answer, or of the other one when the first answer was a failure
+     */
+    <T> T call(final Supplier<T> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        final long hedgeDelayNanos = hedgeDelayNanos();
+        earnBudget();
+        if (hedgeDelayNanos < 0L) {
+            // not enough samples to know what slow is yet
+            return timed(attempt);
+        }
+
+        final CompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+        try {
+            attempts.submit(() -> timed(attempt));
+        } catch (final RejectedExecutionException e) {
+            // every attempt thread is busy, hedging would only queue behind them
+            return timed(attempt);
+        }
+        try {
+            final Future<T> answered = attempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (answered != null) {
+                return result(answered);
+            }
+            if (!spendBudget()) {
+                return result(attempts.take());
+            }
+            try {
+                attempts.submit(() -> timed(attempt));
+            } catch (final RejectedExecutionException e) {
+                refundBudget();
+                return result(attempts.take());
+            }
+            try {
+                return result(attempts.take());
+            } catch (final RuntimeException | Error e) {
+                return result(attempts.take());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("Interrupted while waiting for a read").cause(e).build();
+        }
+    }
+
+    private <T> T timed(final Supplier<T> attempt) {
+        final long startedAt = System.nanoTime();
+        final T result = attempt.get();
+        record(System.nanoTime() - startedAt);
+        return result;
+    }
+
+    private static <T> T result(final Future<T> answered) throws InterruptedException {
+        try {
+            return answered.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            // attempts are suppliers, so anything else they throw is unchecked
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private synchronized void record(final long nanos) {
+        latencyNanos[next] = nanos;
+        next = (next + 1) % MAX_SAMPLES;
+        samples = Math.min(samples + 1, MAX_SAMPLES);
+    }
+
+    /**
+     * @return the current hedge delay, negative while there are too few samples
+     */
+    private synchronized long hedgeDelayNanos() {
+        if (samples < MIN_SAMPLES) {
+            return -1L;
+        }
+        final long[] sorted = Arrays.copyOf(latencyNanos, samples);
+        Arrays.sort(sorted);
+        return Math.max(MIN_HEDGE_DELAY_NANOS, sorted[(int) Math.ceil(HEDGE_PERCENTILE * (sorted.length - 1))]);
+    }
+
+    private synchronized void earnBudget() {
+        budgetCalls = Math.min(budgetCalls + 1, MAX_BUDGET_CALLS);
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budgetCalls < BUDGET_CALLS_PER_HEDGE) {
+            return false;
+        }
+        budgetCalls -= BUDGET_CALLS_PER_HEDGE;
+        return true;
+    }
+
+    private synchronized void refundBudget() {
+        budgetCalls = Math.min(budgetCalls + BUDGET_CALLS_PER_HEDGE, MAX_BUDGET_CALLS);
+    }
+}
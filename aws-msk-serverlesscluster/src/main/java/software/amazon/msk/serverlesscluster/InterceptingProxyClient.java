@@ -0,0 +1,56 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Proxy client running every synchronous MSK call through an ordered chain of {@link ServiceCallInterceptor}s, the
+ * first one outermost. With an empty chain calls go straight to the delegate, without allocating a
+ * {@link ServiceCall}. Either way the timeouts of the request reach the SDK, see {@link CallTimeouts}. Paginated and
+ * asynchronous calls, which the handlers do not use, are passed through as they are.
+ */
+public class InterceptingProxyClient implements ProxyClient<KafkaClient> {
+    private final ProxyClient<KafkaClient> delegate;
+    private final ServiceCallInterceptor[] interceptors;
+
+    InterceptingProxyClient(final ProxyClient<KafkaClient> delegate, final List<ServiceCallInterceptor> interceptors) {
+        this.delegate = delegate;
+        this.interceptors = interceptors.toArray(new ServiceCallInterceptor[0]);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+        final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        if (interceptors.length == 0) {
+            return delegate.injectCredentialsAndInvokeV2(request,
+                CallTimeouts.keepingTimeouts(request, requestFunction));
+        }
+        return new ServiceCall<>(delegate, requestFunction, interceptors, request).proceed();
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(final RequestT request,
+                                      final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(final RequestT request,
+                                                   final Function<RequestT, IterableT> requestFunction) {
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public KafkaClient client() {
+        return delegate.client();
+    }
+}
@@ -0,0 +1,113 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Time budget of a single handler invocation, letting a stabilizer wait for the next poll inside the invocation
+ * instead of handing the callback context back to CloudFormation, as long as the wait still ends a safety margin
+ * before the budget runs out.
+ *
+ * The remaining Lambda time is not exposed to the handlers, so the budget is the time CloudFormation allows a handler
+ * invocation, measured from when the handler started. The {@value #INVOCATION_BUDGET_VARIABLE} environment variable
+ * overrides it.
+ */
+public class InvocationTimer {
+    static final String INVOCATION_BUDGET_VARIABLE = "MSK_INVOCATION_BUDGET_SECONDS";
+    // An estimate rather than a documented limit: the RPDK does not hand the remaining Lambda time to the handlers,
+    // and 60 seconds stays well inside the timeout the handlers are deployed with. Measure before raising it.
+    static final Duration INVOCATION_BUDGET = Duration.ofSeconds(60L);
+    static final Duration SAFETY_MARGIN = Duration.ofSeconds(15L);
+
+    private static final Duration CONFIGURED_BUDGET = budgetFromEnvironment();
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final Instant deadline;
+
+    InvocationTimer(final Clock clock, final Sleeper sleeper, final Duration budget) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.deadline = clock.instant().plus(budget);
+    }
+
+    /**
+     * Starts the timer of an invocation that begins now
+     * @return invocation timer
+     */
+    static InvocationTimer start() {
+        return new InvocationTimer(Clock.systemUTC(), duration -> Thread.sleep(duration.toMillis()), CONFIGURED_BUDGET);
+    }
+
+    /**
+     * @return the budget set by {@value #INVOCATION_BUDGET_VARIABLE}, {@link #INVOCATION_BUDGET} when it is not set or
+     * leaves no time beyond the safety margin
+     */
+    static Duration budgetFromEnvironment() {
+        return parseBudget(System.getenv(INVOCATION_BUDGET_VARIABLE));
+    }
+
+    static Duration parseBudget(final String seconds) {
+        if (seconds == null) {
+            return INVOCATION_BUDGET;
+        }
+        try {
+            final Duration budget = Duration.ofSeconds(Long.parseLong(seconds.trim()));
+            return budget.compareTo(SAFETY_MARGIN) > 0 ? budget : INVOCATION_BUDGET;
+        } catch (final NumberFormatException e) {
+            // a malformed override must not take the handler down
+            return INVOCATION_BUDGET;
+        }
+    }
+
+    /**
+     * @return epoch millis of the clock the invocation is timed with
+     */
+    long currentTimeMillis() {
+        return clock.millis();
+    }
+
+    /**
+     * @param epochMillis epoch millis of a past event, possibly from an earlier invocation, null when it did not happen
+     * @return time since the event, zero when it did not happen
+     */
+    Duration since(final Long epochMillis) {
+        if (epochMillis == null) {
+            return Duration.ZERO;
+        }
+        final Duration since = Duration.ofMillis(clock.millis() - epochMillis);
+        return since.isNegative() ? Duration.ZERO : since;
+    }
+
+    /**
+     * @return time left until the end of the invocation budget, zero once it ran out
+     */
+    Duration remaining() {
+        final Duration remaining = Duration.between(clock.instant(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Waits for the given duration if the invocation can afford it
+     * @param wait time until the next poll
+     * @return true after waiting, false when the wait would run into the safety margin and the caller should return
+     */
+    boolean sleepIfTimeAllows(final Duration wait) {
+        if (clock.instant().plus(wait).plus(SAFETY_MARGIN).isAfter(deadline)) {
+            return false;
+        }
+        try {
+            sleeper.sleep(wait);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
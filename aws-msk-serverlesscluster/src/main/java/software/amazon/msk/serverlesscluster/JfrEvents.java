@@ -0,0 +1,147 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * The JFR side of {@link HandlerEvents}, only loaded once JFR is known to be available.
+ */
+final class JfrEvents {
+    private static final String CATEGORY = "AWS MSK ServerlessCluster";
+    private static final String PROFILE_SETTINGS = "profile";
+
+    private JfrEvents() {
+    }
+
+    static HandlerEvents.Span invocation(final String handler, final String clientRequestToken) {
+        final InvocationEvent event = new InvocationEvent();
+        event.handler = handler;
+        event.clientRequestToken = clientRequestToken;
+        return begin(event);
+    }
+
+    static HandlerEvents.Span phase(final String callGraph, final String phase) {
+        final PhaseEvent event = new PhaseEvent();
+        event.callGraph = callGraph;
+        event.phase = phase;
+        return begin(event);
+    }
+
+    static HandlerEvents.Span apiCall(final String api) {
+        final ApiCallEvent event = new ApiCallEvent();
+        event.api = api;
+        return begin(event);
+    }
+
+    static HandlerEvents.Span stabilizationPoll(final String clusterArn) {
+        final StabilizationPollEvent event = new StabilizationPollEvent();
+        event.clusterArn = clusterArn;
+        return begin(event);
+    }
+
+    static HandlerEvents.Span profileOperation(final String directory, final String operation, final Logger logger) {
+        final Recording recording;
+        try {
+            recording = new Recording(jdk.jfr.Configuration.getConfiguration(PROFILE_SETTINGS));
+        } catch (final IOException | ParseException e) {
+            logger.log(String.format("JFR profiling of %s skipped: %s", operation, e.getMessage()));
+            return HandlerEvents.NOOP;
+        }
+        recording.setName(operation);
+        recording.start();
+        return new HandlerEvents.Span() {
+            @Override
+            public void outcome(final String outcome) {
+            }
+
+            @Override
+            public void close() {
+                final Path file = Paths.get(directory, String.format("%s-%d.jfr", operation,
+                    System.currentTimeMillis()));
+                try {
+                    Files.createDirectories(file.getParent());
+                    recording.stop();
+                    recording.dump(file);
+                } catch (final IOException | IllegalStateException e) {
+                    logger.log(String.format("Writing JFR recording %s failed: %s", file, e.getMessage()));
+                } finally {
+                    recording.close();
+                }
+            }
+        };
+    }
+
+    private static HandlerEvents.Span begin(final OutcomeEvent event) {
+        if (!event.isEnabled()) {
+            return HandlerEvents.NOOP;
+        }
+        event.begin();
+        return new HandlerEvents.Span() {
+            @Override
+            public void outcome(final String outcome) {
+                event.outcome = outcome;
+            }
+
+            @Override
+            public void close() {
+                event.commit();
+            }
+        };
+    }
+
+    @Category(CATEGORY)
+    abstract static class OutcomeEvent extends Event {
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("software.amazon.msk.serverlesscluster.HandlerInvocation")
+    @Label("Handler Invocation")
+    @Description("One invocation of a resource handler")
+    static final class InvocationEvent extends OutcomeEvent {
+        @Label("Handler")
+        String handler;
+
+        @Label("Client Request Token")
+        String clientRequestToken;
+    }
+
+    @Name("software.amazon.msk.serverlesscluster.CallChainPhase")
+    @Label("Call Chain Phase")
+    @Description("One phase of a proxy.initiate call chain")
+    static final class PhaseEvent extends OutcomeEvent {
+        @Label("Call Graph")
+        String callGraph;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("software.amazon.msk.serverlesscluster.ApiCall")
+    @Label("MSK API Call")
+    @Description("One MSK api call made through the proxy client")
+    static final class ApiCallEvent extends OutcomeEvent {
+        @Label("API")
+        String api;
+    }
+
+    @Name("software.amazon.msk.serverlesscluster.StabilizationPoll")
+    @Label("Stabilization Poll")
+    @Description("One read of a cluster state while stabilizing")
+    static final class StabilizationPollEvent extends OutcomeEvent {
+        @Label("Cluster ARN")
+        String clusterArn;
+    }
+}
@@ -0,0 +1,174 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.SaslConfigs;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Data plane readiness of a cluster that MSK reports as active: the brokers are ready once an {@link Admin}
+ * describeCluster call against the bootstrap brokers returns within {@link #PROBE_TIMEOUT}.
+ *
+ * The probe is off unless the {@value #ENABLED_VARIABLE} environment variable is {@code true}, as it needs a network
+ * path from the handler to the brokers, e.g. a handler running in the cluster's VPC or a local contract test. The
+ * client authenticates with IAM through the handler's own credentials, which needs the aws-msk-iam-auth library on
+ * the classpath. The handler does not bundle it, so unless it is added or a properties file named by
+ * {@value #PROPERTIES_VARIABLE} configures another client authentication, e.g. {@code security.protocol=PLAINTEXT}
+ * for a local broker, an enabled probe logs why it cannot probe and never waits for the brokers.
+ */
+public class KafkaReadinessProbe {
+    static final String ENABLED_VARIABLE = "MSK_KAFKA_READINESS_PROBE";
+    static final String PROPERTIES_VARIABLE = "MSK_KAFKA_READINESS_PROBE_PROPERTIES";
+    static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5L);
+    static final Duration PROBE_INTERVAL = Duration.ofSeconds(10L);
+    static final Duration MAX_WAIT = Duration.ofMinutes(10L);
+
+    private final boolean enabled;
+    private final Properties clientProperties;
+    private final Duration timeout;
+    private final Function<Properties, Admin> adminFactory;
+    // why no client can be built from the configuration, null when it can
+    private final String unavailableReason;
+
+    KafkaReadinessProbe(final boolean enabled, final Properties clientProperties, final Duration timeout,
+                        final Function<Properties, Admin> adminFactory) {
+        this(enabled, clientProperties, timeout, adminFactory, null);
+    }
+
+    KafkaReadinessProbe(final boolean enabled, final Properties clientProperties, final Duration timeout,
+                        final Function<Properties, Admin> adminFactory, final String unavailableReason) {
+        this.enabled = enabled;
+        this.clientProperties = clientProperties;
+        this.timeout = timeout;
+        this.adminFactory = adminFactory;
+        this.unavailableReason = unavailableReason;
+    }
+
+    /**
+     * @return the probe configured by the environment, disabled unless {@value #ENABLED_VARIABLE} is true
+     */
+    static KafkaReadinessProbe fromEnvironment() {
+        if (!Boolean.parseBoolean(System.getenv(ENABLED_VARIABLE))) {
+            // without the Admin::create method reference a disabled probe never links the admin client
+            return new KafkaReadinessProbe(false, new Properties(), PROBE_TIMEOUT, null);
+        }
+        return StartupProfiler.measure("readinessProbe", KafkaReadinessProbe::enabledFromEnvironment);
+    }
+
+    private static KafkaReadinessProbe enabledFromEnvironment() {
+        final Properties clientProperties = iamClientProperties();
+        final String propertiesFile = System.getenv(PROPERTIES_VARIABLE);
+        if (propertiesFile != null && !propertiesFile.trim().isEmpty()) {
+            try (InputStream input = Files.newInputStream(Paths.get(propertiesFile.trim()))) {
+                clientProperties.load(input);
+            } catch (final IOException e) {
+                // probing with settings other than the intended ones would only time out
+                return new KafkaReadinessProbe(true, clientProperties, PROBE_TIMEOUT, Admin::create,
+                    String.format("properties not loaded from %s: %s", propertiesFile, e.getMessage()));
+            }
+        }
+        return new KafkaReadinessProbe(true, clientProperties, PROBE_TIMEOUT, Admin::create,
+            unavailableReason(clientProperties));
+    }
+
+    /**
+     * @param clientProperties client settings of the probe
+     * @return why no client can be built with the settings, null when nothing is known to be missing
+     */
+    static String unavailableReason(final Properties clientProperties) {
+        final Object callbackHandler = clientProperties.get(SaslConfigs.SASL_CLIENT_CALLBACK_HANDLER_CLASS);
+        final String protocol = String.valueOf(clientProperties.get(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG));
+        if (callbackHandler == null || !protocol.startsWith("SASL")) {
+            return null;
+        }
+        try {
+            Class.forName(callbackHandler.toString(), false, KafkaReadinessProbe.class.getClassLoader());
+            return null;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return String.format("%s is not on the classpath, add the aws-msk-iam-auth library to the handler or set "
+                + "another client authentication in %s", callbackHandler, PROPERTIES_VARIABLE);
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Describes the cluster through the given bootstrap brokers
+     * @param bootstrapServers bootstrap broker string
+     * @param logger logger of the current invocation
+     * @return READY when the brokers answered with at least one node, NOT_READY when they did not answer in time,
+     * UNAVAILABLE when no client could be built to ask them
+     */
+    Result probe(final String bootstrapServers, final Logger logger) {
+        if (unavailableReason != null) {
+            logger.log(String.format("Readiness probe unavailable, %s", unavailableReason));
+            return Result.UNAVAILABLE;
+        }
+        if (bootstrapServers == null || bootstrapServers.isEmpty()) {
+            return Result.UNAVAILABLE;
+        }
+        final int timeoutMillis = (int) timeout.toMillis();
+        final Properties properties = new Properties();
+        properties.putAll(clientProperties);
+        properties.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, timeoutMillis);
+        properties.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, timeoutMillis);
+
+        final Admin admin;
+        try {
+            admin = adminFactory.apply(properties);
+        } catch (final KafkaException e) {
+            // a missing login module or a malformed override, probing again will not help
+            logger.log(String.format("Readiness probe client not created: %s", e.getMessage()));
+            return Result.UNAVAILABLE;
+        }
+        try {
+            final Collection<Node> nodes = admin.describeCluster(new DescribeClusterOptions().timeoutMs(timeoutMillis))
+                .nodes().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return nodes.isEmpty() ? Result.NOT_READY : Result.READY;
+        } catch (final ExecutionException | TimeoutException e) {
+            return Result.NOT_READY;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.NOT_READY;
+        } finally {
+            // in flight requests are of no use once the probe answered
+            admin.close(Duration.ZERO);
+        }
+    }
+
+    private static Properties iamClientProperties() {
+        final Properties properties = new Properties();
+        properties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL");
+        properties.put(SaslConfigs.SASL_MECHANISM, "AWS_MSK_IAM");
+        properties.put(SaslConfigs.SASL_JAAS_CONFIG, "software.amazon.msk.auth.iam.IAMLoginModule required;");
+        properties.put(SaslConfigs.SASL_CLIENT_CALLBACK_HANDLER_CLASS,
+            "software.amazon.msk.auth.iam.IAMClientCallbackHandler");
+        return properties;
+    }
+
+    enum Result {
+        READY,
+        NOT_READY,
+        UNAVAILABLE
+    }
+}
@@ -8,7 +8,26 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+/**
+ * Lists the serverless clusters of the account, only those whose name starts with the ClusterName of the desired
+ * model when it has one. The page size is the service default unless the {@value #MAX_RESULTS_VARIABLE}
+ * environment variable sets it.
+ */
 public class ListHandler extends BaseHandlerStd {
+    static final String MAX_RESULTS_VARIABLE = "MSK_LIST_MAX_RESULTS";
+    static final int MAX_RESULTS_LIMIT = 100;
+
+    private static final String CALL_GRAPH = "AWS-MSK-ServerlessCluster::List";
+
+    private final Integer maxResults;
+
+    public ListHandler() {
+        this(maxResultsFromEnvironment());
+    }
+
+    ListHandler(final Integer maxResults) {
+        this.maxResults = maxResults;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -20,21 +39,42 @@ public class ListHandler extends BaseHandlerStd {
 
         final ResourceModel model = request.getDesiredResourceState();
         final String clientRequestToken = request.getClientRequestToken();
+        final String clusterNamePrefix = model == null ? null : model.getClusterName();
 
         return proxy
-            .initiate("AWS-MSK-ServerlessCluster::List", proxyClient, model, callbackContext)
+            .initiate(CALL_GRAPH, proxyClient, model, callbackContext)
             .translateToServiceRequest(
-                _resourceModel -> Translator.translateToListRequest(request.getNextToken()))
+                _resourceModel -> HandlerEvents.phase(CALL_GRAPH, "translateToServiceRequest",
+                    () -> Translator.translateToListRequest(request.getNextToken(), clusterNamePrefix, maxResults,
+                        invocationTimers.get())))
             .makeServiceCall(
-                (listClustersRequest, _proxyClient) ->
-                    _proxyClient.injectCredentialsAndInvokeV2(
-                        listClustersRequest, _proxyClient.client()::listClustersV2))
+                (listClustersRequest, _proxyClient) -> HandlerEvents.phase(CALL_GRAPH, "makeServiceCall",
+                    () -> _proxyClient.injectCredentialsAndInvokeV2(
+                        listClustersRequest, _proxyClient.client()::listClustersV2)))
             .handleError((listClustersRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
-                handleError(exception, model,  callbackContext, logger, clientRequestToken))
+                handleError(exception, model,  callbackContext, logger, clientRequestToken, false))
             .done((listClustersRequest, listClustersResponse, proxyInvocation, resourceModel, context) ->
-                ProgressEvent.<ResourceModel, CallbackContext>builder()
+                HandlerEvents.phase(CALL_GRAPH, "done", () -> ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(Translator.translateFromListResponse(listClustersResponse))
                     .status(OperationStatus.SUCCESS)
-                    .nextToken(listClustersResponse.nextToken()).build());
+                    .nextToken(listClustersResponse.nextToken()).build()));
+    }
+
+    /**
+     * @return the page size set by {@value #MAX_RESULTS_VARIABLE}, null for the service default when it is not set
+     * or not between 1 and {@value #MAX_RESULTS_LIMIT}
+     */
+    static Integer maxResultsFromEnvironment() {
+        final String value = System.getenv(MAX_RESULTS_VARIABLE);
+        if (value == null) {
+            return null;
+        }
+        try {
+            final int maxResults = Integer.parseInt(value.trim());
+            return maxResults >= 1 && maxResults <= MAX_RESULTS_LIMIT ? maxResults : null;
+        } catch (final NumberFormatException e) {
+            // a malformed override must not take the handler down
+            return null;
+        }
     }
 }
@@ -1,6 +1,9 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.util.function.Supplier;
+
 import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -10,7 +13,22 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String CALL_GRAPH = "AWS-MSK-ServerlessCluster::Read";
+    private static final String BOOTSTRAP_BROKERS_CALL_GRAPH = "AWS-MSK-ServerlessCluster::GetBootstrapBrokers";
+
+    private final HedgedReads hedgedReads;
+    private final BootstrapBrokersCache bootstrapBrokersCache;
+
+    public ReadHandler() {
+        this(InvocationTimer::start, HedgedReads.getInstance(), BootstrapBrokersCache.getInstance());
+    }
+
+    ReadHandler(final Supplier<InvocationTimer> invocationTimers, final HedgedReads hedgedReads,
+                final BootstrapBrokersCache bootstrapBrokersCache) {
+        super(invocationTimers);
+        this.hedgedReads = hedgedReads;
+        this.bootstrapBrokersCache = bootstrapBrokersCache;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -19,33 +37,74 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<KafkaClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        return handleRequest(proxy, request, callbackContext, proxyClient, logger, invocationTimers.get(), false);
+    }
+
+    /**
+     * Reads the resource as part of another handler's invocation, sharing its time budget. Unlike a Read of its own,
+     * a timed out call is retried on a callback of the mutating handler
+     * @param proxy the aws service proxy
+     * @param request handler request
+     * @param callbackContext callback context
+     * @param proxyClient the aws service client to make the call
+     * @param logger logger of the current invocation
+     * @param invocationTimer time budget of the current invocation
+     * @return progressEvent carrying the read resource model
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<KafkaClient> proxyClient,
+        final Logger logger,
+        final InvocationTimer invocationTimer) {
+
+        return handleRequest(proxy, request, callbackContext, proxyClient, logger, invocationTimer, true);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<KafkaClient> proxyClient,
+        final Logger logger,
+        final InvocationTimer invocationTimer,
+        final boolean inProgressAllowed) {
+
         final ResourceModel model = request.getDesiredResourceState();
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-MSK-ServerlessCluster::Read", proxyClient, model, callbackContext)
-            .translateToServiceRequest(Translator::translateToReadRequest)
-            .makeServiceCall((describeClusterRequest, sdkProxyClient) -> readResource(describeClusterRequest, sdkProxyClient , clientRequestToken))
+        return proxy.initiate(CALL_GRAPH, proxyClient, model, callbackContext)
+            .translateToServiceRequest(_model -> HandlerEvents.phase(CALL_GRAPH, "translateToServiceRequest",
+                () -> Translator.translateToReadRequest(_model, invocationTimer)))
+            .makeServiceCall((describeClusterRequest, sdkProxyClient) -> HandlerEvents.phase(CALL_GRAPH,
+                "makeServiceCall", () -> readResource(describeClusterRequest, sdkProxyClient, clientRequestToken,
+                    logger)))
             .handleError((describeClusterRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
-                handleError(exception, model,  callbackContext, logger, clientRequestToken))
+                handleError(exception, model,  callbackContext, logger, clientRequestToken, inProgressAllowed))
             .done((describeClusterRequest, describeClusterResponse, proxyInvocation, resourceModel, context) ->
-                constructResourceModelFromResponse(describeClusterResponse));
+                constructResourceModelFromResponse(proxy, proxyClient, describeClusterResponse, callbackContext,
+                    clientRequestToken, invocationTimer, logger));
     }
 
     /**
      * Implement client invocation of the read request through the proxyClient, which is already initialized with
-     * caller credentials, correct region and retry settings
+     * caller credentials, correct region and retry settings. DescribeClusterV2 is idempotent, so a slow attempt may
+     * be hedged with a second one
      * @param describeClusterRequest the aws service request to describe a resource
      * @param proxyClient the aws service client to make the call
+     * @param clientRequestToken client request token
+     * @param logger logger of the current invocation
      * @return describe resource response
      */
     private DescribeClusterV2Response readResource(
         final DescribeClusterV2Request describeClusterRequest,
         final ProxyClient<KafkaClient> proxyClient,
-        final String clientRequestToken) {
+        final String clientRequestToken,
+        final Logger logger) {
 
-        DescribeClusterV2Response describeClusterResponse =
-            proxyClient.injectCredentialsAndInvokeV2(describeClusterRequest, proxyClient.client()::describeClusterV2);
+        DescribeClusterV2Response describeClusterResponse = hedgedReads.call(() ->
+            proxyClient.injectCredentialsAndInvokeV2(describeClusterRequest, proxyClient.client()::describeClusterV2));
 
         logger.log(String.format("[ClientRequestToken: %s] Successfully read Cluster %s", clientRequestToken,
             describeClusterRequest.clusterArn()));
@@ -54,14 +113,74 @@ public class ReadHandler extends BaseHandlerStd {
     }
 
     /**
-     * Implement client invocation of the read request through the proxyClient, which is already initialized with
-     * caller credentials, correct region and retry settings
+     * Builds the resource model from the describe response. The bootstrap brokers of an active cluster are added
+     * from the cache, or read with GetBootstrapBrokers when they are not cached. The cluster was read once the
+     * describe succeeded, so a failed GetBootstrapBrokers only leaves BootstrapServers out of the model
+     * @param proxy the aws service proxy
+     * @param proxyClient the aws service client to make the call
      * @param describeClusterResponse the aws service describe resource response
-     * @return progressEvent indicating success, in progress with delay callback or failed state
+     * @param callbackContext callback context
+     * @param clientRequestToken client request token
+     * @param invocationTimer time budget of the current invocation
+     * @param logger logger of the current invocation
+     * @return progressEvent indicating success
      */
     private ProgressEvent<ResourceModel, CallbackContext> constructResourceModelFromResponse(
-        final DescribeClusterV2Response describeClusterResponse) {
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<KafkaClient> proxyClient,
+        final DescribeClusterV2Response describeClusterResponse,
+        final CallbackContext callbackContext,
+        final String clientRequestToken,
+        final InvocationTimer invocationTimer,
+        final Logger logger) {
+
+        final ResourceModel model = HandlerEvents.phase(CALL_GRAPH, "done",
+            () -> Translator.translateFromReadResponse(describeClusterResponse));
+        if (describeClusterResponse.clusterInfo().state() != ClusterState.ACTIVE) {
+            // brokers are only reachable once the cluster is active
+            return ProgressEvent.defaultSuccessHandler(model);
+        }
+
+        final String bootstrapServers = bootstrapBrokersCache.get(model.getArn());
+        if (bootstrapServers != null) {
+            model.setBootstrapServers(bootstrapServers);
+            return ProgressEvent.defaultSuccessHandler(model);
+        }
+
+        return proxy.initiate(BOOTSTRAP_BROKERS_CALL_GRAPH, proxyClient, model, callbackContext)
+            .translateToServiceRequest(_model -> HandlerEvents.phase(BOOTSTRAP_BROKERS_CALL_GRAPH,
+                "translateToServiceRequest", () -> Translator.translateToGetBootstrapBrokersRequest(_model,
+                    invocationTimer)))
+            .makeServiceCall((getBootstrapBrokersRequest, _proxyClient) -> HandlerEvents.phase(
+                BOOTSTRAP_BROKERS_CALL_GRAPH, "makeServiceCall", () -> _proxyClient.injectCredentialsAndInvokeV2(
+                    getBootstrapBrokersRequest, _proxyClient.client()::getBootstrapBrokers)))
+            .handleError((getBootstrapBrokersRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
+                bootstrapBrokersUnavailable(exception, model, clientRequestToken, logger))
+            .done((getBootstrapBrokersRequest, getBootstrapBrokersResponse, _proxyClient, _resourceModel,
+                   _callbackContext) -> HandlerEvents.phase(BOOTSTRAP_BROKERS_CALL_GRAPH, "done", () -> {
+                bootstrapBrokersCache.put(model.getArn(), getBootstrapBrokersResponse.bootstrapBrokerStringSaslIam());
+                model.setBootstrapServers(getBootstrapBrokersResponse.bootstrapBrokerStringSaslIam());
+                return ProgressEvent.defaultSuccessHandler(model);
+            }));
+    }
+
+    /**
+     * Reports the read cluster without its bootstrap servers when GetBootstrapBrokers failed, which is not cached so
+     * the next read tries again
+     * @param exception the exception GetBootstrapBrokers failed with
+     * @param model resource model read from the describe response
+     * @param clientRequestToken client request token
+     * @param logger logger of the current invocation
+     * @return progressEvent indicating success
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> bootstrapBrokersUnavailable(
+        final Exception exception,
+        final ResourceModel model,
+        final String clientRequestToken,
+        final Logger logger) {
 
-        return ProgressEvent.defaultSuccessHandler(Translator.translateFromReadResponse(describeClusterResponse));
+        logger.log(String.format("[ClientRequestToken: %s] GetBootstrapBrokers for cluster %s failed, reading it " +
+            "without BootstrapServers: %s", clientRequestToken, model.getArn(), exception.getMessage()));
+        return ProgressEvent.defaultSuccessHandler(model);
     }
 }
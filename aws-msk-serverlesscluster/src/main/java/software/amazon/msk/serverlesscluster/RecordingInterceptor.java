@@ -0,0 +1,33 @@
+package software.amazon.msk.serverlesscluster;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Interceptor writing every MSK call, with its timing and outcome, to a {@link TrafficRecorder}. The timing starts
+ * when the call entered the chain, so it is best placed last, next to the call itself. Recording problems go to the
+ * logger of the invocation.
+ */
+public class RecordingInterceptor implements ServiceCallInterceptor {
+    private final TrafficRecorder recorder;
+    private final Logger logger;
+
+    RecordingInterceptor(final TrafficRecorder recorder, final Logger logger) {
+        this.recorder = recorder;
+        this.logger = logger;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+        final ServiceCall<RequestT, ResponseT> call) {
+        try {
+            final ResponseT response = call.proceed();
+            recorder.record(call.request(), call.startedAtMillis(), call.elapsedMillis(), response, null, logger);
+            return response;
+        } catch (final RuntimeException e) {
+            recorder.record(call.request(), call.startedAtMillis(), call.elapsedMillis(), null, e, logger);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Local pre-flight validation of a resource model before it is sent to MSK, so an invalid template fails
+ * immediately with InvalidRequest instead of after a service round trip or a failed stabilization.
+ *
+ * The constraints of aws-msk-serverlesscluster.json are checked by the {@link ResourceModelSchemaValidator} generated
+ * from the schema at build time, the checks here add the limits MSK Serverless enforces on CreateClusterV2.
+ */
+public class ResourceModelValidator {
+    // MSK Serverless limits
+    static final Pattern CLUSTER_NAME_PATTERN = Pattern.compile("^[0-9A-Za-z][0-9A-Za-z-]*$");
+    static final Pattern SUBNET_ID_PATTERN = Pattern.compile("^subnet-([0-9a-f]{8}|[0-9a-f]{17})$");
+    static final Pattern SECURITY_GROUP_ID_PATTERN = Pattern.compile("^sg-([0-9a-f]{8}|[0-9a-f]{17})$");
+    static final int MAX_VPC_CONFIGS = 5;
+    static final int MIN_SUBNETS_PER_VPC_CONFIG = 2;
+    static final int MAX_SECURITY_GROUPS_PER_VPC_CONFIG = 5;
+    static final int MAX_TAGS = 50;
+    static final int TAG_KEY_MAX_LENGTH = 128;
+    static final int TAG_VALUE_MAX_LENGTH = 256;
+    static final String RESERVED_TAG_KEY_PREFIX = "aws:";
+
+    /**
+     * Validates a resource model for cluster creation
+     *
+     * @param model resource model
+     * @return violation messages, empty when the model is valid
+     */
+    static List<String> validateForCreate(final ResourceModel model) {
+        final List<String> violations = new ArrayList<>(ResourceModelSchemaValidator.validate(model));
+        validateClusterName(model.getClusterName(), violations);
+        validateVpcConfigs(model.getVpcConfigs(), violations);
+        validateClientAuthentication(model.getClientAuthentication(), violations);
+        validateTags(model.getTags(), violations);
+        return violations;
+    }
+
+    private static void validateClusterName(final String clusterName, final List<String> violations) {
+        if (clusterName != null && !clusterName.isEmpty() && !CLUSTER_NAME_PATTERN.matcher(clusterName).matches()) {
+            violations.add(String.format("ClusterName %s must start with a letter or digit and contain only " +
+                "letters, digits and hyphens", clusterName));
+        }
+    }
+
+    private static void validateVpcConfigs(final Set<VpcConfig> vpcConfigs, final List<String> violations) {
+        if (vpcConfigs == null) {
+            return;
+        }
+        if (vpcConfigs.isEmpty()) {
+            violations.add("VpcConfigs requires at least one VpcConfig");
+            return;
+        }
+        if (vpcConfigs.size() > MAX_VPC_CONFIGS) {
+            violations.add(String.format("VpcConfigs supports at most %d VpcConfig entries", MAX_VPC_CONFIGS));
+        }
+
+        final Set<String> seenSubnetIds = new HashSet<>();
+        for (final VpcConfig vpcConfig : vpcConfigs) {
+            if (vpcConfig == null) {
+                continue;
+            }
+            final Set<String> subnetIds = vpcConfig.getSubnetIds();
+            if (subnetIds == null) {
+                continue;
+            }
+            if (subnetIds.size() < MIN_SUBNETS_PER_VPC_CONFIG) {
+                violations.add(String.format("Each VpcConfig requires at least %d SubnetIds",
+                    MIN_SUBNETS_PER_VPC_CONFIG));
+            } else {
+                for (final String subnetId : subnetIds) {
+                    if (subnetId == null || !SUBNET_ID_PATTERN.matcher(subnetId).matches()) {
+                        violations.add(String.format("SubnetIds contains malformed subnet id %s", subnetId));
+                    } else if (!seenSubnetIds.add(subnetId)) {
+                        violations.add(String.format("Subnet %s is used by more than one VpcConfig", subnetId));
+                    }
+                }
+            }
+
+            final Set<String> securityGroups = vpcConfig.getSecurityGroups();
+            if (securityGroups != null) {
+                if (securityGroups.size() > MAX_SECURITY_GROUPS_PER_VPC_CONFIG) {
+                    violations.add(String.format("Each VpcConfig supports at most %d SecurityGroups",
+                        MAX_SECURITY_GROUPS_PER_VPC_CONFIG));
+                }
+                for (final String securityGroup : securityGroups) {
+                    if (securityGroup == null || !SECURITY_GROUP_ID_PATTERN.matcher(securityGroup).matches()) {
+                        violations.add(String.format("SecurityGroups contains malformed security group id %s",
+                            securityGroup));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void validateClientAuthentication(final ClientAuthentication clientAuthentication,
+                                                     final List<String> violations) {
+        if (clientAuthentication != null && clientAuthentication.getSasl() != null
+            && clientAuthentication.getSasl().getIam() != null
+            && Boolean.FALSE.equals(clientAuthentication.getSasl().getIam().getEnabled())) {
+            violations.add("MSK Serverless clusters require ClientAuthentication.Sasl.Iam.Enabled to be true");
+        }
+    }
+
+    private static void validateTags(final Map<String, String> tags, final List<String> violations) {
+        if (tags == null) {
+            return;
+        }
+        if (tags.size() > MAX_TAGS) {
+            violations.add(String.format("Tags supports at most %d tags", MAX_TAGS));
+        }
+        for (final Map.Entry<String, String> tag : tags.entrySet()) {
+            final String key = tag.getKey();
+            if (key == null) {
+                continue;
+            }
+            if (key.isEmpty() || key.length() > TAG_KEY_MAX_LENGTH) {
+                violations.add(String.format("Tag key %s must be 1 to %d characters long", key, TAG_KEY_MAX_LENGTH));
+            } else if (key.startsWith(RESERVED_TAG_KEY_PREFIX)) {
+                violations.add(String.format("Tag key %s uses the reserved prefix %s", key, RESERVED_TAG_KEY_PREFIX));
+            }
+            if (tag.getValue() != null && tag.getValue().length() > TAG_VALUE_MAX_LENGTH) {
+                violations.add(String.format("Tag value of %s must be at most %d characters", key,
+                    TAG_VALUE_MAX_LENGTH));
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * Converts SDK requests, responses and their nested structures to JSON and back, driven by the field metadata the SDK
+ * generates for every model, so the MSK traffic can be recorded without a hand written mapping per api. Members are
+ * keyed by their service member names, timestamps are ISO-8601 strings and blobs are base64.
+ */
+public class SdkPojoJson {
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SdkPojoJson() {
+    }
+
+    /**
+     * @param pojo SDK model object
+     * @return JSON object holding every member that is set
+     */
+    static ObjectNode write(final SdkPojo pojo) {
+        final ObjectNode node = MAPPER.createObjectNode();
+        for (final SdkField<?> field : pojo.sdkFields()) {
+            final Object value = field.getValueOrDefault(pojo);
+            if (value != null && !(value instanceof SdkAutoConstructList) && !(value instanceof SdkAutoConstructMap)) {
+                node.set(field.memberName(), writeValue(field, value));
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Sets the members found in the JSON object on a model builder
+     * @param node JSON object written by {@link #write(SdkPojo)}
+     * @param builder builder of the model, e.g. {@code DescribeClusterV2Response.builder()}
+     * @param <B> builder type
+     * @return the builder
+     */
+    static <B extends SdkPojo> B read(final JsonNode node, final B builder) {
+        for (final SdkField<?> field : builder.sdkFields()) {
+            final JsonNode value = node.get(field.memberName());
+            if (value != null && !value.isNull()) {
+                field.set(builder, readValue(field, value));
+            }
+        }
+        return builder;
+    }
+
+    private static JsonNode writeValue(final SdkField<?> field, final Object value) {
+        final MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            return write((SdkPojo) value);
+        }
+        if (type == MarshallingType.LIST) {
+            final SdkField<?> memberField = field.getTrait(ListTrait.class).memberFieldInfo();
+            final ArrayNode array = MAPPER.createArrayNode();
+            for (final Object member : (List<?>) value) {
+                array.add(member == null ? MAPPER.nullNode() : writeValue(memberField, member));
+            }
+            return array;
+        }
+        if (type == MarshallingType.MAP) {
+            final SdkField<?> valueField = field.getTrait(MapTrait.class).valueFieldInfo();
+            final ObjectNode object = MAPPER.createObjectNode();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                object.set(String.valueOf(entry.getKey()),
+                    entry.getValue() == null ? MAPPER.nullNode() : writeValue(valueField, entry.getValue()));
+            }
+            return object;
+        }
+        if (type == MarshallingType.INSTANT) {
+            return MAPPER.getNodeFactory().textNode(value.toString());
+        }
+        if (type == MarshallingType.SDK_BYTES) {
+            return MAPPER.getNodeFactory().textNode(Base64.getEncoder().encodeToString(((SdkBytes) value)
+                .asByteArray()));
+        }
+        return MAPPER.valueToTree(value);
+    }
+
+    private static Object readValue(final SdkField<?> field, final JsonNode value) {
+        final MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            final SdkPojo builder = read(value, field.constructor().get());
+            return ((SdkBuilder<?, ?>) builder).build();
+        }
+        if (type == MarshallingType.LIST) {
+            final SdkField<?> memberField = field.getTrait(ListTrait.class).memberFieldInfo();
+            final List<Object> list = new ArrayList<>(value.size());
+            for (final JsonNode member : value) {
+                list.add(member.isNull() ? null : readValue(memberField, member));
+            }
+            return list;
+        }
+        if (type == MarshallingType.MAP) {
+            final SdkField<?> valueField = field.getTrait(MapTrait.class).valueFieldInfo();
+            final Map<String, Object> map = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> entries = value.fields();
+            while (entries.hasNext()) {
+                final Map.Entry<String, JsonNode> entry = entries.next();
+                map.put(entry.getKey(), entry.getValue().isNull() ? null : readValue(valueField, entry.getValue()));
+            }
+            return map;
+        }
+        if (type == MarshallingType.STRING) {
+            return value.asText();
+        }
+        if (type == MarshallingType.INTEGER) {
+            return value.asInt();
+        }
+        if (type == MarshallingType.LONG) {
+            return value.asLong();
+        }
+        if (type == MarshallingType.SHORT) {
+            return (short) value.asInt();
+        }
+        if (type == MarshallingType.DOUBLE) {
+            return value.asDouble();
+        }
+        if (type == MarshallingType.FLOAT) {
+            return (float) value.asDouble();
+        }
+        if (type == MarshallingType.BOOLEAN) {
+            return value.asBoolean();
+        }
+        if (type == MarshallingType.BIG_DECIMAL) {
+            return value.decimalValue();
+        }
+        if (type == MarshallingType.INSTANT) {
+            return Instant.parse(value.asText());
+        }
+        if (type == MarshallingType.SDK_BYTES) {
+            return SdkBytes.fromByteArray(Base64.getDecoder().decode(value.asText()));
+        }
+        throw new IllegalArgumentException(String.format("Unsupported member %s of type %s", field.memberName(),
+            type));
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * A synchronous MSK call passing through the {@link ServiceCallInterceptor} chain of an
+ * {@link InterceptingProxyClient}, carrying the request and the time the call entered the chain.
+ *
+ * A call is made by a single thread, and the same instance is handed to every interceptor of the chain: within
+ * {@link ServiceCallInterceptor#intercept(ServiceCall)}, {@link #request()} is the request the interceptor was called
+ * with, whatever the interceptors after it proceed with.
+ *
+ * @param <RequestT> type of the request
+ * @param <ResponseT> type of the response
+ */
+public final class ServiceCall<RequestT extends AwsRequest, ResponseT extends AwsResponse> {
+    private static final String REQUEST_SUFFIX = "Request";
+
+    private final ProxyClient<KafkaClient> delegate;
+    private final Function<RequestT, ResponseT> requestFunction;
+    private final ServiceCallInterceptor[] interceptors;
+    private final long startedAtMillis;
+    private final long startedAtNanos;
+    private RequestT request;
+    private int position;
+    private String api;
+
+    ServiceCall(final ProxyClient<KafkaClient> delegate, final Function<RequestT, ResponseT> requestFunction,
+                final ServiceCallInterceptor[] interceptors, final RequestT request) {
+        this.delegate = delegate;
+        this.requestFunction = requestFunction;
+        this.interceptors = interceptors;
+        this.request = request;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.startedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the request the current interceptor was called with
+     */
+    public RequestT request() {
+        return request;
+    }
+
+    /**
+     * @return name of the api the call is for, e.g. DescribeClusterV2
+     */
+    public String api() {
+        if (api == null) {
+            api = apiOf(request);
+        }
+        return api;
+    }
+
+    /**
+     * @return epoch millis when the call entered the chain
+     */
+    public long startedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /**
+     * @return millis since the call entered the chain
+     */
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    /**
+     * Runs the rest of the chain with the current request
+     * @return response of the rest of the chain
+     */
+    public ResponseT proceed() {
+        return proceed(request);
+    }
+
+    /**
+     * Runs the rest of the chain, and the MSK call after the last interceptor, with the given request
+     * @param nextRequest request for the rest of the chain
+     * @return response of the rest of the chain
+     */
+    public ResponseT proceed(final RequestT nextRequest) {
+        if (position == interceptors.length) {
+            return delegate.injectCredentialsAndInvokeV2(nextRequest,
+                CallTimeouts.keepingTimeouts(nextRequest, requestFunction));
+        }
+        final RequestT currentRequest = request;
+        final ServiceCallInterceptor interceptor = interceptors[position++];
+        request = nextRequest;
+        try {
+            return interceptor.intercept(this);
+        } finally {
+            // an interceptor that proceeds again runs the same rest of the chain
+            position--;
+            request = currentRequest;
+        }
+    }
+
+    /**
+     * @param request MSK request
+     * @return name of the api the request is for, e.g. DescribeClusterV2
+     */
+    static String apiOf(final AwsRequest request) {
+        final String requestName = request.getClass().getSimpleName();
+        return requestName.endsWith(REQUEST_SUFFIX)
+            ? requestName.substring(0, requestName.length() - REQUEST_SUFFIX.length())
+            : requestName;
+    }
+}
@@ -0,0 +1,23 @@
+package software.amazon.msk.serverlesscluster;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+
+/**
+ * Cross-cutting step around every synchronous MSK call of a handler invocation, e.g. a circuit breaker, metrics or a
+ * traffic recording. The interceptors of an {@link InterceptingProxyClient} run in the order of its chain, the first
+ * one outermost, so it sees the time and outcome of everything after it.
+ *
+ * An interceptor may answer without proceeding, proceed with another request, proceed more than once, or translate
+ * what the rest of the chain throws.
+ */
+public interface ServiceCallInterceptor {
+    /**
+     * @param call the call being made, {@link ServiceCall#proceed()} runs the rest of the chain and the MSK call
+     * @param <RequestT> type of the request
+     * @param <ResponseT> type of the response
+     * @return the response handed to the interceptor before this one, or to the handler
+     */
+    <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+        ServiceCall<RequestT, ResponseT> call);
+}
@@ -0,0 +1,38 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.cloudformation.proxy.delay.Constant;
+
+/**
+ * Stabilization backoff that waits {@code firstDelay} before the first poll and {@code delay} between the following
+ * ones, like {@link Constant} otherwise, giving up once the stabilization has been running for longer than
+ * {@code timeout}.
+ *
+ * The time running is the wall clock time since the stabilized call was made, so the polls a handler waits for within
+ * an invocation count as much as the callback delays between invocations.
+ */
+public class StabilizationDelay implements Delay {
+    private final Duration firstDelay;
+    private final Duration delay;
+    private final Duration timeout;
+    private final Supplier<Duration> elapsed;
+
+    StabilizationDelay(final Duration firstDelay, final Duration delay, final Duration timeout,
+                       final Supplier<Duration> elapsed) {
+        this.firstDelay = firstDelay;
+        this.delay = delay;
+        this.timeout = timeout;
+        this.elapsed = elapsed;
+    }
+
+    @Override
+    public Duration nextDelay(final int attempt) {
+        if (elapsed.get().compareTo(timeout) > 0) {
+            return Duration.ZERO;
+        }
+        return attempt <= 1 ? firstDelay : delay;
+    }
+}
@@ -0,0 +1,189 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Memory mapped file of observed stabilization durations, kept in {@code /tmp} so the durations seen by a warm
+ * container survive across invocations, and across restarts of the handler process. {@code /tmp} belongs to a single
+ * Lambda execution environment, so the history is neither shared between concurrent containers nor handed to a new
+ * one.
+ *
+ * The file is a fixed size ring of {@value #CAPACITY} records after a small header, so it never grows. Every record
+ * carries a sequence number and a CRC32 of its content that is written last: a record torn by a crash fails its check
+ * and is skipped on the next load, and the sequence numbers restore the order of the ring. Writes go to the page
+ * cache through the mapping, so they outlive the process without forcing them to disk.
+ */
+public class StabilizationHistory {
+    static final String FILE_VARIABLE = "MSK_STABILIZATION_HISTORY_FILE";
+    static final String DEFAULT_FILE_NAME = "aws-msk-serverlesscluster-stabilization.bin";
+    static final int CAPACITY = 1024;
+    static final int MAX_REGION_LENGTH = 23;
+
+    private static final int MAGIC = 0x4d534b48;
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    // sequence (8) | operation (1) | region (23, zero padded) | seconds (4) | crc32 of the preceding bytes (4)
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int OPERATION_OFFSET = 8;
+    private static final int REGION_OFFSET = 9;
+    private static final int SECONDS_OFFSET = REGION_OFFSET + MAX_REGION_LENGTH;
+    private static final int CRC_OFFSET = SECONDS_OFFSET + 4;
+    static final int RECORD_SIZE = CRC_OFFSET + 4;
+    private static final int FILE_SIZE = HEADER_SIZE + CAPACITY * RECORD_SIZE;
+
+    private final MappedByteBuffer buffer;
+    private long lastSequence;
+
+    private StabilizationHistory(final MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        for (final Entry entry : readEntries()) {
+            lastSequence = Math.max(lastSequence, entry.sequence);
+        }
+    }
+
+    /**
+     * Opens the history file named by {@value #FILE_VARIABLE}, or {@value #DEFAULT_FILE_NAME} in the temporary
+     * directory
+     * @return the history, or null when the file cannot be used and durations are only kept in memory
+     */
+    static StabilizationHistory openDefault() {
+        final String file = System.getenv(FILE_VARIABLE);
+        final Path path = file == null || file.trim().isEmpty()
+            ? Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_FILE_NAME)
+            : Paths.get(file.trim());
+        try {
+            return open(path);
+        } catch (final IOException | RuntimeException e) {
+            // opened before any invocation hands over a logger; the durations are then only kept in memory
+            return null;
+        }
+    }
+
+    /**
+     * Maps a history file, creating it or resetting a file that is not a history of this version
+     * @param file history file
+     * @return the history
+     * @throws IOException when the file cannot be mapped
+     */
+    static StabilizationHistory open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            // the mapping stays valid once the channel is closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, FILE_SIZE);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != CAPACITY
+                || buffer.getInt(12) != RECORD_SIZE) {
+                reset(buffer);
+            }
+            return new StabilizationHistory(buffer);
+        }
+    }
+
+    /**
+     * Appends an observed duration, overwriting the oldest record once the ring is full. Durations of regions with
+     * names longer than {@value #MAX_REGION_LENGTH} characters are not persisted.
+     * @param region region of the cluster
+     * @param operation operation that was stabilized
+     * @param seconds observed duration
+     */
+    synchronized void append(final String region, final StabilizationStats.Operation operation, final long seconds) {
+        final byte[] regionBytes = region.getBytes(StandardCharsets.US_ASCII);
+        if (regionBytes.length > MAX_REGION_LENGTH) {
+            return;
+        }
+        final long sequence = lastSequence + 1;
+        final int offset = offsetOf(sequence);
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+        buffer.put(offset + OPERATION_OFFSET, (byte) operation.ordinal());
+        for (int i = 0; i < MAX_REGION_LENGTH; i++) {
+            buffer.put(offset + REGION_OFFSET + i, i < regionBytes.length ? regionBytes[i] : 0);
+        }
+        buffer.putInt(offset + SECONDS_OFFSET, (int) Math.min(seconds, Integer.MAX_VALUE));
+        buffer.putInt(offset + CRC_OFFSET, crcOf(offset));
+        lastSequence = sequence;
+    }
+
+    /**
+     * @return every intact record, oldest first
+     */
+    synchronized List<Entry> entries() {
+        return readEntries();
+    }
+
+    private List<Entry> readEntries() {
+        final StabilizationStats.Operation[] operations = StabilizationStats.Operation.values();
+        final List<Entry> entries = new ArrayList<>();
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            final int offset = HEADER_SIZE + slot * RECORD_SIZE;
+            final long sequence = buffer.getLong(offset + SEQUENCE_OFFSET);
+            final int operation = buffer.get(offset + OPERATION_OFFSET);
+            if (sequence <= 0L || offsetOf(sequence) != offset || operation < 0 || operation >= operations.length
+                || buffer.getInt(offset + CRC_OFFSET) != crcOf(offset)) {
+                continue;
+            }
+            final byte[] regionBytes = new byte[MAX_REGION_LENGTH];
+            int regionLength = 0;
+            while (regionLength < MAX_REGION_LENGTH && buffer.get(offset + REGION_OFFSET + regionLength) != 0) {
+                regionBytes[regionLength] = buffer.get(offset + REGION_OFFSET + regionLength);
+                regionLength++;
+            }
+            entries.add(new Entry(sequence, new String(regionBytes, 0, regionLength, StandardCharsets.US_ASCII),
+                operations[operation], buffer.getInt(offset + SECONDS_OFFSET)));
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+        return entries;
+    }
+
+    private int crcOf(final int offset) {
+        final byte[] content = new byte[CRC_OFFSET];
+        for (int i = 0; i < CRC_OFFSET; i++) {
+            content[i] = buffer.get(offset + i);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return (int) crc.getValue();
+    }
+
+    private static int offsetOf(final long sequence) {
+        return HEADER_SIZE + (int) (sequence % CAPACITY) * RECORD_SIZE;
+    }
+
+    private static void reset(final MappedByteBuffer buffer) {
+        buffer.putInt(0, 0);
+        for (int i = HEADER_SIZE; i < FILE_SIZE; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, CAPACITY);
+        buffer.putInt(12, RECORD_SIZE);
+        // the magic goes last, so a reset cut short is redone on the next open
+        buffer.putInt(0, MAGIC);
+    }
+
+    /**
+     * One observed duration
+     */
+    static final class Entry {
+        final long sequence;
+        final String region;
+        final StabilizationStats.Operation operation;
+        final long seconds;
+
+        Entry(final long sequence, final String region, final StabilizationStats.Operation operation,
+              final long seconds) {
+            this.sequence = sequence;
+            this.region = region;
+            this.operation = operation;
+            this.seconds = seconds;
+        }
+    }
+}
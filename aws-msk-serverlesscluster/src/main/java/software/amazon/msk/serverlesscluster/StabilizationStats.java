@@ -0,0 +1,113 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Container wide record of how long clusters took to stabilize, used to place the first stabilization poll close to
+ * the point where a cluster is likely to be done instead of polling a state that is almost certainly unchanged.
+ *
+ * The durations are also written to a {@link StabilizationHistory} when one could be opened, and read back from it
+ * when the handler process starts, so what earlier invocations of the same execution environment observed is not lost
+ * with the process. A new execution environment starts with an empty history.
+ */
+public class StabilizationStats {
+    static final int MAX_SAMPLES = 64;
+    static final int MIN_SAMPLES = 5;
+    static final double FIRST_POLL_PERCENTILE = 0.10;
+    static final Duration MAX_FIRST_POLL_DELAY = Duration.ofMinutes(15L);
+
+    private static final String DEFAULT_REGION = "default";
+    private static final StabilizationStats INSTANCE = StartupProfiler.measure("stabilizationStats",
+        () -> new StabilizationStats(StabilizationHistory.openDefault()));
+
+    private final Map<String, Samples> samplesByKey = new ConcurrentHashMap<>();
+    private final StabilizationHistory history;
+
+    StabilizationStats() {
+        this(null);
+    }
+
+    StabilizationStats(final StabilizationHistory history) {
+        this.history = history;
+        if (history != null) {
+            for (final StabilizationHistory.Entry entry : history.entries()) {
+                samplesFor(entry.region, entry.operation).add(entry.seconds);
+            }
+        }
+    }
+
+    static StabilizationStats getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records an observed stabilization duration
+     * @param region region of the cluster
+     * @param operation operation that was stabilized
+     * @param duration time from the service call until the terminal state was observed
+     */
+    void record(final String region, final Operation operation, final Duration duration) {
+        samplesFor(region, operation).add(duration.getSeconds());
+        if (history != null) {
+            history.append(region == null ? DEFAULT_REGION : region, operation, duration.getSeconds());
+        }
+    }
+
+    /**
+     * Delay before the first stabilization poll: the low percentile of the observed durations, so most clusters are
+     * still polled no later than before, never shorter than the regular poll interval
+     * @param region region of the cluster
+     * @param operation operation being stabilized
+     * @param pollInterval regular stabilization poll interval
+     * @return delay before the first poll
+     */
+    Duration firstPollDelay(final String region, final Operation operation, final Duration pollInterval) {
+        final Samples samples = samplesByKey.get(keyOf(region, operation));
+        if (samples == null) {
+            return pollInterval;
+        }
+        final long[] sorted = samples.sorted();
+        if (sorted.length < MIN_SAMPLES) {
+            return pollInterval;
+        }
+        final Duration percentile = Duration.ofSeconds(sorted[(int) (FIRST_POLL_PERCENTILE * (sorted.length - 1))]);
+        if (percentile.compareTo(pollInterval) < 0) {
+            return pollInterval;
+        }
+        return percentile.compareTo(MAX_FIRST_POLL_DELAY) > 0 ? MAX_FIRST_POLL_DELAY : percentile;
+    }
+
+    private Samples samplesFor(final String region, final Operation operation) {
+        return samplesByKey.computeIfAbsent(keyOf(region, operation), key -> new Samples());
+    }
+
+    private static String keyOf(final String region, final Operation operation) {
+        return (region == null ? DEFAULT_REGION : region) + "/" + operation;
+    }
+
+    enum Operation {
+        CREATE,
+        DELETE
+    }
+
+    private static final class Samples {
+        private final long[] seconds = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        private synchronized void add(final long value) {
+            seconds[next] = value;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        private synchronized long[] sorted() {
+            final long[] copy = Arrays.copyOf(seconds, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+
+/**
+ * Cold start profile of the handler process: the time from the start of the JVM until the first handler invocation
+ * and until the first MSK call answered, the classes loaded by then, and for every subsystem initialized through
+ * {@link #measure(String, Supplier)} the time its initialization took and the classes it loaded, nested subsystems
+ * included. The profile is written to stderr as a single line JSON object when the first MSK call returns, the
+ * profiler being the outermost {@link ServiceCallInterceptor} of the chain until then.
+ *
+ * Profiling is off unless the {@value #ENABLED_VARIABLE} environment variable is {@code true}. Disabled, the
+ * profiler does not touch the management beans, so it loads no class of its own.
+ */
+public class StartupProfiler implements ServiceCallInterceptor {
+    static final String ENABLED_VARIABLE = "MSK_STARTUP_PROFILE";
+
+    private static final StartupProfiler INSTANCE = Boolean.parseBoolean(System.getenv(ENABLED_VARIABLE))
+        ? new StartupProfiler(true, ManagementFactory.getRuntimeMXBean().getStartTime(),
+            ManagementFactory.getClassLoadingMXBean()::getTotalLoadedClassCount, System.err::println)
+        : new StartupProfiler(false, 0L, () -> 0L, report -> { });
+
+    private final boolean enabled;
+    private final long jvmStartMillis;
+    private final LongSupplier loadedClasses;
+    private final Consumer<String> output;
+    private final Map<String, long[]> subsystems = new LinkedHashMap<>();
+    private final AtomicBoolean handlerEntered = new AtomicBoolean();
+    private final AtomicBoolean reported = new AtomicBoolean();
+    private long handlerEnteredMillis;
+    private long handlerEnteredClasses;
+
+    StartupProfiler(final boolean enabled, final long jvmStartMillis, final LongSupplier loadedClasses,
+                    final Consumer<String> output) {
+        this.enabled = enabled;
+        this.jvmStartMillis = jvmStartMillis;
+        this.loadedClasses = loadedClasses;
+        this.output = output;
+    }
+
+    static StartupProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Initializes a subsystem, recording its initialization time and the classes it loaded when profiling
+     * @param subsystem name of the subsystem in the profile
+     * @param initialization initialization of the subsystem
+     * @param <T> type of what the initialization returns
+     * @return what the initialization returned
+     */
+    static <T> T measure(final String subsystem, final Supplier<T> initialization) {
+        return INSTANCE.time(subsystem, initialization);
+    }
+
+    /**
+     * @return whether the profile is still waiting for the first MSK call
+     */
+    boolean awaitingFirstCall() {
+        return enabled && !reported.get();
+    }
+
+    /**
+     * Marks the first handler invocation, everything before being the plugin's wrapper and the JVM
+     */
+    void handlerEntered() {
+        if (enabled && handlerEntered.compareAndSet(false, true)) {
+            synchronized (this) {
+                handlerEnteredMillis = System.currentTimeMillis() - jvmStartMillis;
+                handlerEnteredClasses = loadedClasses.getAsLong();
+            }
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+        final ServiceCall<RequestT, ResponseT> call) {
+        if (!awaitingFirstCall()) {
+            return call.proceed();
+        }
+        try {
+            return call.proceed();
+        } finally {
+            if (reported.compareAndSet(false, true)) {
+                output.accept(toJson(call.api(), call.elapsedMillis()));
+            }
+        }
+    }
+
+    <T> T time(final String subsystem, final Supplier<T> initialization) {
+        if (!enabled) {
+            return initialization.get();
+        }
+        final long classesBefore = loadedClasses.getAsLong();
+        final long startedAt = System.nanoTime();
+        try {
+            return initialization.get();
+        } finally {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            final long classes = loadedClasses.getAsLong() - classesBefore;
+            synchronized (this) {
+                final long[] totals = subsystems.computeIfAbsent(subsystem, name -> new long[2]);
+                totals[0] += millis;
+                totals[1] += classes;
+            }
+        }
+    }
+
+    synchronized String toJson(final String firstCallApi, final long firstCallMillis) {
+        final StringBuilder json = new StringBuilder(256);
+        json.append(String.format(Locale.ROOT, "{\"jvmToHandlerMillis\":%d,\"classesAtHandler\":%d,"
+                + "\"jvmToFirstCallMillis\":%d,\"classesAtFirstCall\":%d,\"firstCall\":{\"api\":\"%s\",\"millis\":%d},"
+                + "\"subsystems\":{", handlerEnteredMillis, handlerEnteredClasses,
+            System.currentTimeMillis() - jvmStartMillis, loadedClasses.getAsLong(), firstCallApi, firstCallMillis));
+        String separator = "";
+        for (final Map.Entry<String, long[]> subsystem : subsystems.entrySet()) {
+            json.append(String.format(Locale.ROOT, "%s\"%s\":{\"millis\":%d,\"classes\":%d}", separator,
+                subsystem.getKey(), subsystem.getValue()[0], subsystem.getValue()[1]));
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+}
@@ -0,0 +1,157 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.TagResourceResponse;
+import software.amazon.awssdk.services.kafka.model.UntagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.UntagResourceResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Sends the TagResource and UntagResource calls of an update in chunks of at most {@value #MAX_KEYS_PER_CALL} tag
+ * keys, at most {@value #PARALLELISM} chunks at a time across the container.
+ *
+ * Chunks are cut from the sorted keys, so a retried update cuts the same chunks. The keys of every completed chunk are
+ * kept in the {@link CallbackContext}, so an invocation resumed after a failed chunk only sends the keys left. Once a
+ * chunk failed no further chunks are started, and the first failure is rethrown after the running chunks finished.
+ */
+public class TagBatcher {
+    static final int MAX_KEYS_PER_CALL = 50;
+    static final int PARALLELISM = 4;
+
+    private static final TagBatcher INSTANCE = new TagBatcher(Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+        final Thread thread = new Thread(runnable, "msk-tag-batch");
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    private final ExecutorService executor;
+
+    TagBatcher(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    static TagBatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds the tags of the request that were not added by an earlier invocation
+     * @param tagResourceRequest request carrying every tag to add
+     * @param proxyClient the aws service client to make the calls
+     * @param callbackContext callback context keeping the keys already added
+     * @return tag resource response
+     */
+    TagResourceResponse tag(final TagResourceRequest tagResourceRequest, final ProxyClient<KafkaClient> proxyClient,
+                            final CallbackContext callbackContext) {
+        final Map<String, String> tags = tagResourceRequest.tags();
+        inChunks(tags.keySet(), callbackContext.getAddedTagKeys(), chunk -> {
+            final Map<String, String> chunkTags = new LinkedHashMap<>();
+            chunk.forEach(key -> chunkTags.put(key, tags.get(key)));
+            proxyClient.injectCredentialsAndInvokeV2(tagResourceRequest.toBuilder().tags(chunkTags).build(),
+                proxyClient.client()::tagResource);
+        });
+        return TagResourceResponse.builder().build();
+    }
+
+    /**
+     * Removes the tag keys of the request that were not removed by an earlier invocation
+     * @param untagResourceRequest request carrying every tag key to remove
+     * @param proxyClient the aws service client to make the calls
+     * @param callbackContext callback context keeping the keys already removed
+     * @return untag resource response
+     */
+    UntagResourceResponse untag(final UntagResourceRequest untagResourceRequest,
+                                final ProxyClient<KafkaClient> proxyClient, final CallbackContext callbackContext) {
+        inChunks(untagResourceRequest.tagKeys(), callbackContext.getRemovedTagKeys(), chunk ->
+            proxyClient.injectCredentialsAndInvokeV2(untagResourceRequest.toBuilder().tagKeys(chunk).build(),
+                proxyClient.client()::untagResource));
+        return UntagResourceResponse.builder().build();
+    }
+
+    private void inChunks(final Collection<String> keys, final Set<String> completedKeys,
+                          final Consumer<List<String>> call) {
+        final List<List<String>> chunks = chunksOf(keys, completedKeys);
+        if (chunks.size() == 1) {
+            // the common case, no need to leave the invocation thread
+            call.accept(chunks.get(0));
+            complete(completedKeys, chunks.get(0));
+            return;
+        }
+
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final List<String> chunk : chunks) {
+            futures.add(executor.submit(() -> {
+                if (failed.get()) {
+                    return;
+                }
+                try {
+                    call.accept(chunk);
+                } catch (final RuntimeException | Error e) {
+                    failed.set(true);
+                    throw e;
+                }
+                complete(completedKeys, chunk);
+            }));
+        }
+
+        Throwable failure = null;
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw AbortedException.builder().message("Interrupted while waiting for tag calls").cause(e).build();
+            }
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            // chunks are consumers, so anything else they throw is unchecked
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * @param keys every tag key of the delta
+     * @param completedKeys keys of the chunks completed earlier
+     * @return the keys left, sorted and cut into chunks
+     */
+    static List<List<String>> chunksOf(final Collection<String> keys, final Set<String> completedKeys) {
+        final List<String> remaining = new ArrayList<>(new TreeSet<>(keys));
+        synchronized (completedKeys) {
+            remaining.removeAll(completedKeys);
+        }
+        final List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < remaining.size(); from += MAX_KEYS_PER_CALL) {
+            chunks.add(new ArrayList<>(remaining.subList(from, Math.min(from + MAX_KEYS_PER_CALL,
+                remaining.size()))));
+        }
+        return chunks;
+    }
+
+    private static void complete(final Set<String> completedKeys, final List<String> chunk) {
+        synchronized (completedKeys) {
+            completedKeys.addAll(chunk);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Container wide writer of a {@link TrafficRecording}, enabled by pointing the {@value #RECORDING_FILE_VARIABLE}
+ * environment variable at the file to write. Every line is flushed through the gzip stream as soon as it is written,
+ * so a container that is frozen or shut down still leaves a readable recording.
+ *
+ * Only the modelled members of requests and responses are recorded, never the credentials the proxy injects.
+ *
+ * Recording never fails a handler. Its problems are reported through the logger of an invocation: a file that cannot
+ * be opened by the first invocation asking for the recorder, a failed write by the invocation whose call it was, and
+ * a failed close at shutdown by the last invocation that recorded a call.
+ */
+public class TrafficRecorder {
+    static final String RECORDING_FILE_VARIABLE = "MSK_TRAFFIC_RECORDING";
+
+    private final Writer writer;
+    private final long startedAtMillis;
+    private boolean failed;
+    private Logger lastLogger;
+
+    TrafficRecorder(final Writer writer, final long startedAtMillis) {
+        this.writer = writer;
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    /**
+     * @param logger logger of the invocation, told once when the recording file could not be opened
+     * @return the container wide recorder, null when recording is off
+     */
+    static TrafficRecorder enabledRecorder(final Logger logger) {
+        final String openProblem = RecorderHolder.OPEN_PROBLEM.getAndSet(null);
+        if (openProblem != null) {
+            logger.log(openProblem);
+        }
+        return RecorderHolder.RECORDER;
+    }
+
+    /**
+     * Opens a recording file, replacing an existing one
+     * @param file file to write
+     * @return recorder writing the file
+     * @throws IOException when the file cannot be created
+     */
+    static TrafficRecorder open(final Path file) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(file), true), StandardCharsets.UTF_8));
+        return new TrafficRecorder(writer, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a completed call
+     * @param request request of the call
+     * @param startedAtMillis epoch millis when the call started
+     * @param durationMillis how long the call took
+     * @param response response of the call, null when it failed
+     * @param exception exception the call failed with, null when it succeeded
+     * @param logger logger of the invocation making the call, told when recording stops
+     */
+    void record(final AwsRequest request, final long startedAtMillis, final long durationMillis,
+                final AwsResponse response, final RuntimeException exception, final Logger logger) {
+        final TrafficRecording.Interaction interaction = new TrafficRecording.Interaction(
+            ServiceCall.apiOf(request), startedAtMillis - this.startedAtMillis, durationMillis,
+            SdkPojoJson.write(request), response == null ? null : SdkPojoJson.write(response),
+            exception == null ? null : TrafficRecording.writeError(exception));
+        write(TrafficRecording.toLine(interaction), logger);
+    }
+
+    /**
+     * Finishes the gzip stream
+     * @throws IOException when closing the file fails
+     */
+    synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private synchronized void write(final String line, final Logger logger) {
+        lastLogger = logger;
+        if (failed) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (final IOException e) {
+            // recording must never fail a handler, stop recording instead
+            failed = true;
+            logger.log(String.format("Traffic recording stopped: %s", e.getMessage()));
+        }
+    }
+
+    private synchronized void closeAtShutdown() {
+        try {
+            close();
+        } catch (final IOException e) {
+            if (lastLogger != null) {
+                lastLogger.log(String.format("Closing traffic recording failed: %s", e.getMessage()));
+            }
+        }
+    }
+
+    private static final class RecorderHolder {
+        private static final AtomicReference<String> OPEN_PROBLEM = new AtomicReference<>();
+        private static final TrafficRecorder RECORDER = openFromEnvironment();
+
+        private static TrafficRecorder openFromEnvironment() {
+            final String file = System.getenv(RECORDING_FILE_VARIABLE);
+            if (file == null || file.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                final TrafficRecorder recorder = open(Paths.get(file.trim()));
+                Runtime.getRuntime().addShutdownHook(new Thread(recorder::closeAtShutdown));
+                return recorder;
+            } catch (final IOException e) {
+                OPEN_PROBLEM.set(String.format("Traffic recording disabled, cannot open %s: %s", file,
+                    e.getMessage()));
+                return null;
+            }
+        }
+    }
+}
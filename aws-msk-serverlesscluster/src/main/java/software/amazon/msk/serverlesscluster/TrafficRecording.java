@@ -0,0 +1,156 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+
+/**
+ * Format of recorded MSK traffic: a gzip compressed file holding one JSON object per call, in the order the calls
+ * completed. Each line carries the api, when the call started relative to the start of the recording, how long it
+ * took, the request, and either the response or the error the call failed with.
+ */
+public class TrafficRecording {
+    private static final String API = "api";
+    private static final String OFFSET_MILLIS = "offsetMillis";
+    private static final String DURATION_MILLIS = "durationMillis";
+    private static final String REQUEST = "request";
+    private static final String RESPONSE = "response";
+    private static final String ERROR = "error";
+    private static final String ERROR_TYPE = "type";
+    private static final String ERROR_STATUS_CODE = "statusCode";
+    private static final String ERROR_MESSAGE = "message";
+    private static final String ERROR_MEMBERS = "members";
+
+    private TrafficRecording() {
+    }
+
+    /**
+     * Reads every interaction of a recording. A recording cut short, e.g. by a container that was shut down before
+     * the file was closed, yields the interactions written up to that point.
+     * @param file recording file
+     * @return interactions in recorded order
+     * @throws IOException when the file cannot be read
+     */
+    static List<Interaction> read(final Path file) throws IOException {
+        final List<Interaction> interactions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    interactions.add(fromLine(line));
+                }
+            }
+        } catch (final EOFException e) {
+            // the gzip trailer was never written, keep what was flushed
+        }
+        return interactions;
+    }
+
+    static String toLine(final Interaction interaction) {
+        final ObjectNode line = SdkPojoJson.MAPPER.createObjectNode();
+        line.put(API, interaction.api);
+        line.put(OFFSET_MILLIS, interaction.offsetMillis);
+        line.put(DURATION_MILLIS, interaction.durationMillis);
+        line.set(REQUEST, interaction.request);
+        if (interaction.response != null) {
+            line.set(RESPONSE, interaction.response);
+        }
+        if (interaction.error != null) {
+            line.set(ERROR, interaction.error);
+        }
+        return line.toString();
+    }
+
+    static Interaction fromLine(final String line) throws IOException {
+        final JsonNode node = SdkPojoJson.MAPPER.readTree(line);
+        return new Interaction(node.path(API).asText(), node.path(OFFSET_MILLIS).asLong(),
+            node.path(DURATION_MILLIS).asLong(), (ObjectNode) node.get(REQUEST), (ObjectNode) node.get(RESPONSE),
+            (ObjectNode) node.get(ERROR));
+    }
+
+    /**
+     * @param exception exception a call failed with
+     * @return JSON describing the exception well enough to throw an equivalent one on replay
+     */
+    static ObjectNode writeError(final RuntimeException exception) {
+        final ObjectNode error = SdkPojoJson.MAPPER.createObjectNode();
+        error.put(ERROR_TYPE, exception.getClass().getName());
+        if (exception instanceof AwsServiceException) {
+            final AwsServiceException serviceException = (AwsServiceException) exception;
+            error.put(ERROR_STATUS_CODE, serviceException.statusCode());
+            final String errorMessage = serviceException.awsErrorDetails() == null
+                ? null : serviceException.awsErrorDetails().errorMessage();
+            error.put(ERROR_MESSAGE, errorMessage != null ? errorMessage : serviceException.getMessage());
+        } else {
+            error.put(ERROR_MESSAGE, exception.getMessage());
+        }
+        if (exception instanceof SdkPojo) {
+            error.set(ERROR_MEMBERS, SdkPojoJson.write((SdkPojo) exception));
+        }
+        return error;
+    }
+
+    /**
+     * Rebuilds a recorded exception. MSK service exceptions are rebuilt with their type, status code, message and
+     * members, anything else becomes an SdkClientException with the recorded message.
+     * @param error JSON written by {@link #writeError(RuntimeException)}
+     * @return the exception to throw
+     */
+    static SdkException readError(final JsonNode error) {
+        final JsonNode messageNode = error.get(ERROR_MESSAGE);
+        final String message = messageNode == null || messageNode.isNull() ? null : messageNode.asText();
+        try {
+            final Class<?> type = Class.forName(error.path(ERROR_TYPE).asText());
+            if (AwsServiceException.class.isAssignableFrom(type)) {
+                final Object builder = type.getMethod("builder").invoke(null);
+                if (builder instanceof SdkPojo && error.has(ERROR_MEMBERS)) {
+                    SdkPojoJson.read(error.get(ERROR_MEMBERS), (SdkPojo) builder);
+                }
+                return ((AwsServiceException.Builder) builder).message(message)
+                    .statusCode(error.path(ERROR_STATUS_CODE).asInt())
+                    .build();
+            }
+        } catch (final ReflectiveOperationException | ClassCastException e) {
+            // fall through to a client exception carrying the recorded message
+        }
+        return SdkClientException.builder().message(message).build();
+    }
+
+    /**
+     * One recorded call
+     */
+    static final class Interaction {
+        final String api;
+        final long offsetMillis;
+        final long durationMillis;
+        final ObjectNode request;
+        final ObjectNode response;
+        final ObjectNode error;
+
+        Interaction(final String api, final long offsetMillis, final long durationMillis, final ObjectNode request,
+                    final ObjectNode response, final ObjectNode error) {
+            this.api = api;
+            this.offsetMillis = offsetMillis;
+            this.durationMillis = durationMillis;
+            this.request = request;
+            this.response = response;
+            this.error = error;
+        }
+    }
+}
@@ -1,14 +1,11 @@
 package software.amazon.msk.serverlesscluster;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import com.google.common.collect.Sets;
 
 import software.amazon.awssdk.services.kafka.model.Cluster;
 import software.amazon.awssdk.services.kafka.model.ClusterType;
@@ -16,9 +13,11 @@ import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DeleteClusterRequest;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
 import software.amazon.awssdk.services.kafka.model.Iam;
 import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
 import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.awssdk.services.kafka.model.Serverless;
 import software.amazon.awssdk.services.kafka.model.ServerlessClientAuthentication;
 import software.amazon.awssdk.services.kafka.model.ServerlessRequest;
 import software.amazon.awssdk.services.kafka.model.ServerlessSasl;
@@ -42,6 +41,15 @@ public class Translator {
      * @return CreateClusterRequest the aws service request to create a resource
      */
     static CreateClusterV2Request translateToCreateRequest(final ResourceModel model) {
+        // the SDK builders copy the collections they are given, so the sets of the model are passed as they are
+        final VpcConfig[] vpcConfigs = new VpcConfig[model.getVpcConfigs().size()];
+        int i = 0;
+        for (final software.amazon.msk.serverlesscluster.VpcConfig vpcConfig : model.getVpcConfigs()) {
+            vpcConfigs[i++] = VpcConfig.builder()
+                .securityGroupIds(vpcConfig.getSecurityGroups())
+                .subnetIds(vpcConfig.getSubnetIds())
+                .build();
+        }
         return CreateClusterV2Request.builder()
             .clusterName(model.getClusterName())
             .serverless(
@@ -53,16 +61,27 @@ public class Translator {
                                 .build())
                             .build())
                         .build())
-                    .vpcConfigs(model.getVpcConfigs().stream().map(vpcConfig -> VpcConfig.builder()
-                        .securityGroupIds(vpcConfig.getSecurityGroups())
-                        .subnetIds(vpcConfig.getSubnetIds())
-                        .build()).collect(Collectors.toList()))
+                    .vpcConfigs(vpcConfigs)
                     .build()
             )
             .tags(model.getTags())
             .build();
     }
 
+    /**
+     * Request to create a resource, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param invocationTimer time budget of the current invocation
+     * @return CreateClusterRequest the aws service request to create a resource
+     */
+    static CreateClusterV2Request translateToCreateRequest(final ResourceModel model,
+                                                           final InvocationTimer invocationTimer) {
+        return translateToCreateRequest(model).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.CREATE_CLUSTER_V2, invocationTimer))
+            .build();
+    }
+
     /**
      * Request to read a resource
      *
@@ -73,6 +92,20 @@ public class Translator {
         return DescribeClusterV2Request.builder().clusterArn(model.getArn()).build();
     }
 
+    /**
+     * Request to read a resource, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param invocationTimer time budget of the current invocation
+     * @return DescribeClusterRequest the aws service request to describe a resource
+     */
+    static DescribeClusterV2Request translateToReadRequest(final ResourceModel model,
+                                                           final InvocationTimer invocationTimer) {
+        return translateToReadRequest(model).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.DESCRIBE_CLUSTER_V2, invocationTimer))
+            .build();
+    }
+
     /**
      * Translates resource object from sdk into a resource model
      *
@@ -80,25 +113,62 @@ public class Translator {
      * @return model resource model
      */
     static ResourceModel translateFromReadResponse(final DescribeClusterV2Response describeClusterResponse) {
-        ResourceModel resourceModel = ResourceModel.builder()
-            .arn(describeClusterResponse.clusterInfo().clusterArn())
-            .clusterName(describeClusterResponse.clusterInfo().clusterName())
+        final Cluster cluster = describeClusterResponse.clusterInfo();
+        final Serverless serverless = cluster.serverless();
+        final List<VpcConfig> vpcConfigs = serverless.vpcConfigs();
+        final Set<software.amazon.msk.serverlesscluster.VpcConfig> modelVpcConfigs;
+        if (vpcConfigs.size() == 1) {
+            // the common fast path: most clusters have one VPC config, although up to
+            // ResourceModelValidator.MAX_VPC_CONFIGS are allowed
+            modelVpcConfigs = Collections.singleton(translateFromVpcConfig(vpcConfigs.get(0)));
+        } else {
+            modelVpcConfigs = new HashSet<>(capacityFor(vpcConfigs.size()));
+            for (final VpcConfig vpcConfig : vpcConfigs) {
+                modelVpcConfigs.add(translateFromVpcConfig(vpcConfig));
+            }
+        }
+        return ResourceModel.builder()
+            .arn(cluster.clusterArn())
+            .clusterName(cluster.clusterName())
             .clientAuthentication(software.amazon.msk.serverlesscluster.ClientAuthentication.builder()
                 .sasl(software.amazon.msk.serverlesscluster.Sasl.builder()
                     .iam(software.amazon.msk.serverlesscluster.Iam.builder()
-                        .enabled(describeClusterResponse.clusterInfo().serverless().clientAuthentication().sasl().iam()
-                            .enabled())
+                        .enabled(serverless.clientAuthentication().sasl().iam().enabled())
                         .build())
                     .build())
                 .build())
-            .vpcConfigs(describeClusterResponse.clusterInfo().serverless().vpcConfigs().stream().map(vpcConfig ->
-                software.amazon.msk.serverlesscluster.VpcConfig.builder()
-                    .securityGroups(Sets.newHashSet(vpcConfig.securityGroupIds()))
-                    .subnetIds(Sets.newHashSet(vpcConfig.subnetIds()))
-                    .build()).collect(Collectors.toSet()))
-            .tags(describeClusterResponse.clusterInfo().tags())
+            .vpcConfigs(modelVpcConfigs)
+            // the SDK's map is unmodifiable and the model does not change it, so it is shared
+            .tags(cluster.tags())
+            .build();
+    }
+
+    private static software.amazon.msk.serverlesscluster.VpcConfig translateFromVpcConfig(final VpcConfig vpcConfig) {
+        return software.amazon.msk.serverlesscluster.VpcConfig.builder()
+            .securityGroups(toSet(vpcConfig.securityGroupIds()))
+            .subnetIds(toSet(vpcConfig.subnetIds()))
             .build();
-        return resourceModel;
+    }
+
+    /**
+     * @return the elements as a set, an immutable one without a hash table for less than two elements, which is fine
+     * for read models as nothing changes their sets
+     */
+    private static Set<String> toSet(final List<String> elements) {
+        switch (elements.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.singleton(elements.get(0));
+            default:
+                final Set<String> set = new HashSet<>(capacityFor(elements.size()));
+                set.addAll(elements);
+                return set;
+        }
+    }
+
+    private static int capacityFor(final int size) {
+        return (int) (size / 0.75f) + 1;
     }
 
     /**
@@ -111,6 +181,20 @@ public class Translator {
         return DeleteClusterRequest.builder().clusterArn(model.getArn()).build();
     }
 
+    /**
+     * Request to delete a resource, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param invocationTimer time budget of the current invocation
+     * @return DeleteClusterRequest the aws service request to delete a resource
+     */
+    static DeleteClusterRequest translateToDeleteRequest(final ResourceModel model,
+                                                         final InvocationTimer invocationTimer) {
+        return translateToDeleteRequest(model).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.DELETE_CLUSTER, invocationTimer))
+            .build();
+    }
+
     /**
      * Request to list resources (Serverless clusters only) within aws account
      *
@@ -118,12 +202,72 @@ public class Translator {
      * @return listClustersRequest the aws service request to describe resources within aws account
      */
     static ListClustersV2Request translateToListRequest(final String nextToken) {
+        return translateToListRequest(nextToken, null, null);
+    }
+
+    /**
+     * Request to list resources (Serverless clusters only) within aws account, filtered by the service
+     *
+     * @param nextToken token passed to the aws service describe resource request
+     * @param clusterNamePrefix prefix of the names of the clusters to list, every cluster when null or empty
+     * @param maxResults maximum number of clusters per page, the service default when null
+     * @return listClustersRequest the aws service request to describe resources within aws account
+     */
+    static ListClustersV2Request translateToListRequest(final String nextToken, final String clusterNamePrefix,
+                                                        final Integer maxResults) {
         return ListClustersV2Request.builder()
             .clusterTypeFilter(ClusterType.SERVERLESS.name())
+            .clusterNameFilter(clusterNamePrefix == null || clusterNamePrefix.isEmpty() ? null : clusterNamePrefix)
+            .maxResults(maxResults)
             .nextToken(nextToken)
             .build();
     }
 
+    /**
+     * Request to list resources (Serverless clusters only) within aws account, with timeouts fitting the invocation
+     *
+     * @param nextToken token passed to the aws service describe resource request
+     * @param invocationTimer time budget of the current invocation
+     * @return listClustersRequest the aws service request to describe resources within aws account
+     */
+    static ListClustersV2Request translateToListRequest(final String nextToken,
+                                                        final InvocationTimer invocationTimer) {
+        return translateToListRequest(nextToken, null, null, invocationTimer);
+    }
+
+    /**
+     * Request to list resources (Serverless clusters only) within aws account, filtered by the service, with
+     * timeouts fitting the invocation
+     *
+     * @param nextToken token passed to the aws service describe resource request
+     * @param clusterNamePrefix prefix of the names of the clusters to list, every cluster when null or empty
+     * @param maxResults maximum number of clusters per page, the service default when null
+     * @param invocationTimer time budget of the current invocation
+     * @return listClustersRequest the aws service request to describe resources within aws account
+     */
+    static ListClustersV2Request translateToListRequest(final String nextToken, final String clusterNamePrefix,
+                                                        final Integer maxResults,
+                                                        final InvocationTimer invocationTimer) {
+        return translateToListRequest(nextToken, clusterNamePrefix, maxResults).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.LIST_CLUSTERS_V2, invocationTimer))
+            .build();
+    }
+
+    /**
+     * Request to read the bootstrap brokers of a resource, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param invocationTimer time budget of the current invocation
+     * @return getBootstrapBrokersRequest the aws service request to read the bootstrap brokers of a resource
+     */
+    static GetBootstrapBrokersRequest translateToGetBootstrapBrokersRequest(final ResourceModel model,
+                                                                            final InvocationTimer invocationTimer) {
+        return GetBootstrapBrokersRequest.builder()
+            .clusterArn(model.getArn())
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.GET_BOOTSTRAP_BROKERS, invocationTimer))
+            .build();
+    }
+
     /**
      * Translates resource objects from sdk into a resource model (primary identifier only)
      *
@@ -132,9 +276,14 @@ public class Translator {
      */
     static List<ResourceModel> translateFromListResponse(final ListClustersV2Response listClustersResponse) {
         final List<Cluster> clustersList = listClustersResponse.clusterInfoList();
-        return streamOfOrEmpty(clustersList)
-            .map(cluster -> ResourceModel.builder().arn(cluster.clusterArn()).build())
-            .collect(Collectors.toList());
+        if (clustersList == null) {
+            return new ArrayList<>(0);
+        }
+        final List<ResourceModel> models = new ArrayList<>(clustersList.size());
+        for (final Cluster cluster : clustersList) {
+            models.add(ResourceModel.builder().arn(cluster.clusterArn()).build());
+        }
+        return models;
     }
 
     /**
@@ -152,6 +301,22 @@ public class Translator {
             .build();
     }
 
+    /**
+     * Request to tag resources within aws account, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param addedTags tags to be added
+     * @param invocationTimer time budget of the current invocation
+     * @return tagResourceRequest the aws service request to tag resources within aws account
+     */
+    static TagResourceRequest translateToTagResourceRequest(final ResourceModel model,
+                                                            final Map<String, String> addedTags,
+                                                            final InvocationTimer invocationTimer) {
+        return translateToTagResourceRequest(model, addedTags).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.TAG_RESOURCE, invocationTimer))
+            .build();
+    }
+
     /**
      * Request to untag resources within aws account
      *
@@ -167,9 +332,19 @@ public class Translator {
             .build();
     }
 
-    private static <T> Stream<T> streamOfOrEmpty(final Collection<T> collection) {
-        return Optional.ofNullable(collection)
-            .map(Collection::stream)
-            .orElseGet(Stream::empty);
+    /**
+     * Request to untag resources within aws account, with timeouts fitting the invocation
+     *
+     * @param model resource model
+     * @param removedTags keys of the tags to be removed
+     * @param invocationTimer time budget of the current invocation
+     * @return untagResourceRequest the aws service request to untag resources within aws account
+     */
+    static UntagResourceRequest translateToUntagResourceRequest(final ResourceModel model,
+                                                                final Set<String> removedTags,
+                                                                final InvocationTimer invocationTimer) {
+        return translateToUntagResourceRequest(model, removedTags).toBuilder()
+            .overrideConfiguration(CallTimeouts.forCall(CallTimeouts.Api.UNTAG_RESOURCE, invocationTimer))
+            .build();
     }
 }
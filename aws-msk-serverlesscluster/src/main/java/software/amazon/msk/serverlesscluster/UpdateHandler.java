@@ -2,8 +2,10 @@ package software.amazon.msk.serverlesscluster;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.TooManyRequestsException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -12,7 +14,22 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String CALL_GRAPH = "AWS-MSK-ServerlessCluster::Update";
+    private static final String TAG_CALL_GRAPH = "AWS-MSK-ServerlessCluster::TagResource";
+    private static final String UNTAG_CALL_GRAPH = "AWS-MSK-ServerlessCluster::UntagResource";
+    static final int TAG_THROTTLED_CALLBACK_DELAY_SECONDS = 5;
+    static final int TAG_THROTTLED_MAX_CALLBACK_DELAY_SECONDS = 60;
+    static final int TAG_THROTTLED_MAX_ATTEMPTS = 6;
+
+    private final ReadHandler readHandler = new ReadHandler();
+
+    public UpdateHandler() {
+        super();
+    }
+
+    UpdateHandler(final Supplier<InvocationTimer> invocationTimers) {
+        super(invocationTimers);
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -21,8 +38,7 @@ public class UpdateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
+        final InvocationTimer invocationTimer = invocationTimers.get();
         final ResourceModel resourceModel = request.getDesiredResourceState();
         final String clientRequestToken = request.getClientRequestToken();
 
@@ -30,30 +46,34 @@ public class UpdateHandler extends BaseHandlerStd {
             throw new CfnInvalidRequestException("PreviousResourceState is required.");
         }
 
+        final HandlerEvents.Span tagsPhase = HandlerEvents.phase(CALL_GRAPH, "generateTags");
         final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
         final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
         final Map<String, String> addedTags = TagHelper.generateTagsToAdd(previousTags, desiredTags);
         final Set<String> removedTags = TagHelper.generateTagsToRemove(previousTags, desiredTags);
+        tagsPhase.close();
 
         return ProgressEvent.progress(resourceModel, callbackContext)
             .then(progress -> untagResource(proxy, proxyClient, resourceModel, request, callbackContext, progress,
-                clientRequestToken, removedTags))
+                clientRequestToken, removedTags, invocationTimer, logger))
             .then(progress -> tagResource(proxy, proxyClient, resourceModel, request, callbackContext, progress,
-                clientRequestToken, addedTags))
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                clientRequestToken, addedTags, invocationTimer, logger))
+            .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger,
+                invocationTimer));
     }
 
     /**
      * tagResource during update
      *
-     * Calls the kafka:TagResource API.
+     * Calls the kafka:TagResource API, in chunks of tags.
      */
     private ProgressEvent<ResourceModel, CallbackContext>
     tagResource(final AmazonWebServicesClientProxy proxy, final ProxyClient<KafkaClient> serviceClient,
                 final ResourceModel resourceModel,
                 final ResourceHandlerRequest<ResourceModel> handlerRequest, final CallbackContext callbackContext,
                 final ProgressEvent<ResourceModel, CallbackContext> progressEvent, final String clientRequestToken,
-                final Map<String, String> addedTags) {
+                final Map<String, String> addedTags, final InvocationTimer invocationTimer,
+                final Logger logger) {
         if (addedTags.isEmpty()) {
             return ProgressEvent.progress(resourceModel, progressEvent.getCallbackContext());
         }
@@ -61,27 +81,29 @@ public class UpdateHandler extends BaseHandlerStd {
         logger.log(String.format("Going to add tags for MSK ServerlessCluster resource: " +
             "%s with AccountId: %s", resourceModel.getClusterName(), handlerRequest.getAwsAccountId()));
 
-        return proxy.initiate("AWS-MSK-ServerlessCluster::TagResource", serviceClient, resourceModel, callbackContext)
-            .translateToServiceRequest(model ->
-                Translator.translateToTagResourceRequest(resourceModel, addedTags))
-            .makeServiceCall((tagResourceRequest, _proxyClient) -> _proxyClient.injectCredentialsAndInvokeV2(
-                tagResourceRequest, _proxyClient.client()::tagResource))
+        return proxy.initiate(TAG_CALL_GRAPH, serviceClient, resourceModel, callbackContext)
+            .translateToServiceRequest(model -> HandlerEvents.phase(TAG_CALL_GRAPH, "translateToServiceRequest",
+                () -> Translator.translateToTagResourceRequest(resourceModel, addedTags, invocationTimer)))
+            .makeServiceCall((tagResourceRequest, _proxyClient) -> HandlerEvents.phase(TAG_CALL_GRAPH,
+                "makeServiceCall", () -> TagBatcher.getInstance().tag(tagResourceRequest, _proxyClient,
+                    callbackContext)))
             .handleError((tagResourceRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
-                handleError(exception, resourceModel,  callbackContext, logger, clientRequestToken))
+                handleTagError(exception, resourceModel, callbackContext, logger, clientRequestToken))
             .progress();
     }
 
     /**
      * untagResource during update
      *
-     * Calls the kafka:UntagResource API.
+     * Calls the kafka:UntagResource API, in chunks of tag keys.
      */
     private ProgressEvent<ResourceModel, CallbackContext>
     untagResource(final AmazonWebServicesClientProxy proxy, final ProxyClient<KafkaClient> serviceClient,
                   final ResourceModel resourceModel,
                   final ResourceHandlerRequest<ResourceModel> handlerRequest, final CallbackContext callbackContext,
                   final ProgressEvent<ResourceModel, CallbackContext> progressEvent, final String clientRequestToken,
-                  final Set<String> removedTags) {
+                  final Set<String> removedTags, final InvocationTimer invocationTimer,
+                  final Logger logger) {
         if (removedTags.isEmpty()) {
             return ProgressEvent.progress(resourceModel, progressEvent.getCallbackContext());
         }
@@ -89,13 +111,40 @@ public class UpdateHandler extends BaseHandlerStd {
         logger.log(String.format("Going to remove tags for MSK ServerlessCluster resource: " +
             "%s with AccountId: %s", resourceModel.getClusterName(), handlerRequest.getAwsAccountId()));
 
-        return proxy.initiate("AWS-MSK-ServerlessCluster::UntagResource", serviceClient, resourceModel, callbackContext)
-            .translateToServiceRequest(model ->
-                Translator.translateToUntagResourceRequest(model, removedTags))
-            .makeServiceCall((untagResourceRequest, _proxyClient) -> _proxyClient.injectCredentialsAndInvokeV2(
-                untagResourceRequest, _proxyClient.client()::untagResource))
+        return proxy.initiate(UNTAG_CALL_GRAPH, serviceClient, resourceModel, callbackContext)
+            .translateToServiceRequest(model -> HandlerEvents.phase(UNTAG_CALL_GRAPH, "translateToServiceRequest",
+                () -> Translator.translateToUntagResourceRequest(model, removedTags, invocationTimer)))
+            .makeServiceCall((untagResourceRequest, _proxyClient) -> HandlerEvents.phase(UNTAG_CALL_GRAPH,
+                "makeServiceCall", () -> TagBatcher.getInstance().untag(untagResourceRequest, _proxyClient,
+                    callbackContext)))
             .handleError((untagResourceRequest, exception, _proxyClient, _resourceModel, _callbackContext) ->
-                handleError(exception, resourceModel,  callbackContext, logger, clientRequestToken))
+                handleTagError(exception, resourceModel, callbackContext, logger, clientRequestToken))
             .progress();
     }
+
+    /**
+     * A throttled chunk is retried on a fresh invocation, which only sends the chunks that did not complete yet, with a
+     * callback delay doubling from {@value #TAG_THROTTLED_CALLBACK_DELAY_SECONDS} seconds up to
+     * {@value #TAG_THROTTLED_MAX_CALLBACK_DELAY_SECONDS}. Throttling that outlasts
+     * {@value #TAG_THROTTLED_MAX_ATTEMPTS} callbacks fails the update, and every other error is handled like on any
+     * other call
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> handleTagError(
+        final Exception exception,
+        final ResourceModel resourceModel,
+        final CallbackContext callbackContext,
+        final Logger logger,
+        final String clientRequestToken) throws Exception {
+        if (exception instanceof TooManyRequestsException
+            && callbackContext.getTagThrottledAttempts() < TAG_THROTTLED_MAX_ATTEMPTS) {
+            final int attempt = callbackContext.getTagThrottledAttempts();
+            callbackContext.setTagThrottledAttempts(attempt + 1);
+            final int callbackDelaySeconds = Math.min(TAG_THROTTLED_CALLBACK_DELAY_SECONDS << attempt,
+                TAG_THROTTLED_MAX_CALLBACK_DELAY_SECONDS);
+            logger.log(String.format("[ClientRequestToken: %s] MSK API request throttled, retrying in %d seconds: %s",
+                clientRequestToken, callbackDelaySeconds, exception.getMessage()));
+            return ProgressEvent.defaultInProgressHandler(callbackContext, callbackDelaySeconds, resourceModel);
+        }
+        return handleError(exception, resourceModel, callbackContext, logger, clientRequestToken);
+    }
 }
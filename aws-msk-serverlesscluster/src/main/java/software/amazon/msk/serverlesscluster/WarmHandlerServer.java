@@ -0,0 +1,152 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long lived alternative to {@link HandlerWrapperExecutable} for local contract tests and pipelines, serving many
+ * handler requests from one JVM so class loading, the JIT compiled code and the KafkaClient stay warm between
+ * requests.
+ *
+ * Requests use the payload {@link HandlerWrapperExecutable} takes as its argument, one JSON document per line, read
+ * from stdin or, with {@code --port}, from any number of loopback socket connections. Every response is written
+ * between the same start and end markers the executable prints. A {@value #STATS_COMMAND} line answers with the
+ * startup and request latency stats instead.
+ *
+ * The wrapper keeps the logger, metrics publisher and caller credentials of the request it is handling in its own
+ * fields, so every request gets a wrapper of its own and concurrent connections never share them.
+ */
+public class WarmHandlerServer {
+    static final String RESPONSE_START = "__CFN_RESOURCE_START_RESPONSE__";
+    static final String RESPONSE_END = "__CFN_RESOURCE_END_RESPONSE__";
+    static final String STATS_COMMAND = "__CFN_WARM_STATS__";
+    static final int SOCKET_THREADS = 4;
+
+    private static final String FAILED_RESPONSE =
+        "{\"status\":\"FAILED\",\"errorCode\":\"InternalFailure\",\"message\":\"%s\"}";
+
+    private final RequestHandler requestHandler;
+    private final WarmServerStats stats;
+
+    WarmHandlerServer(final RequestHandler requestHandler, final WarmServerStats stats) {
+        this.requestHandler = requestHandler;
+        this.stats = stats;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        ClientBuilder.getClient();
+        final long startupMillis =
+            System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        final WarmHandlerServer server = new WarmHandlerServer(
+            (input, output) -> new HandlerWrapperExecutable().handleRequest(input, output),
+            new WarmServerStats(startupMillis));
+        System.err.println(String.format("Warm handler server started in %d ms", startupMillis));
+
+        if (args.length == 2 && "--port".equals(args[0])) {
+            // requests carry caller credentials, so the server is only reachable from this host
+            try (ServerSocket serverSocket = new ServerSocket(Integer.parseInt(args[1]), 0,
+                InetAddress.getLoopbackAddress())) {
+                server.serve(serverSocket);
+            }
+        } else {
+            server.serve(System.in, System.out);
+        }
+    }
+
+    /**
+     * Serves line framed requests until the input ends
+     * @param input request stream
+     * @param output response stream
+     * @throws IOException when the streams fail
+     */
+    void serve(final InputStream input, final OutputStream output) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        final PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            writeFramed(writer, STATS_COMMAND.equals(line.trim()) ? stats.toJson() : handle(line));
+        }
+    }
+
+    /**
+     * Serves every connection accepted by the socket on a small thread pool until the socket is closed
+     * @param serverSocket bound server socket
+     * @throws IOException when accepting a connection fails
+     */
+    void serve(final ServerSocket serverSocket) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(SOCKET_THREADS);
+        try {
+            while (!serverSocket.isClosed()) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (final SocketException e) {
+                    // closed while waiting for a connection
+                    break;
+                }
+                executor.execute(() -> serveConnection(socket));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void serveConnection(final Socket socket) {
+        try (Socket connection = socket) {
+            serve(connection.getInputStream(), connection.getOutputStream());
+        } catch (final IOException e) {
+            System.err.println(String.format("Connection failed: %s", e.getMessage()));
+        }
+    }
+
+    private String handle(final String request) {
+        final long startedAt = System.nanoTime();
+        boolean failed = false;
+        String response;
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            requestHandler.handleRequest(new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)), output);
+            response = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        } catch (final IOException | RuntimeException e) {
+            failed = true;
+            response = String.format(FAILED_RESPONSE, String.valueOf(e.getMessage()).replace("\\", "\\\\")
+                .replace("\"", "\\\"").replace("\n", "\\n"));
+        }
+        stats.record(System.nanoTime() - startedAt, failed);
+        return response;
+    }
+
+    private static void writeFramed(final PrintWriter writer, final String response) {
+        writer.println(RESPONSE_START);
+        writer.println(response);
+        writer.println(RESPONSE_END);
+        writer.flush();
+    }
+
+    /**
+     * Handler entry point taking the serialized request and writing the serialized progress event, implemented by
+     * {@link HandlerWrapperExecutable#handleRequest(InputStream, OutputStream)}
+     */
+    @FunctionalInterface
+    interface RequestHandler {
+        void handleRequest(InputStream input, OutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,55 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup and per request latency of a {@link WarmHandlerServer}, keeping the most recent request latencies for the
+ * percentiles.
+ */
+public class WarmServerStats {
+    static final int MAX_SAMPLES = 1024;
+
+    private final long startupMillis;
+    private final long[] latencyNanos = new long[MAX_SAMPLES];
+    private long requests;
+    private long failures;
+    private int next;
+
+    WarmServerStats(final long startupMillis) {
+        this.startupMillis = startupMillis;
+    }
+
+    /**
+     * Records one served request
+     * @param nanos time from reading the request until its response was written
+     * @param failed whether the handler failed to produce a response
+     */
+    synchronized void record(final long nanos, final boolean failed) {
+        latencyNanos[next] = nanos;
+        next = (next + 1) % MAX_SAMPLES;
+        requests++;
+        if (failed) {
+            failures++;
+        }
+    }
+
+    /**
+     * @return the stats as a single line JSON object
+     */
+    synchronized String toJson() {
+        final long[] sorted = Arrays.copyOf(latencyNanos, (int) Math.min(requests, MAX_SAMPLES));
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "{\"startupMillis\":%d,\"requests\":%d,\"failures\":%d,"
+                + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"maxMillis\":%.3f}", startupMillis, requests, failures,
+            percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 1.0));
+    }
+
+    private static double percentileMillis(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.ceil(percentile * (sorted.length - 1))] / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -17,6 +18,7 @@ import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.Cluster;
 import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.ClusterType;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersResponse;
 import software.amazon.awssdk.services.kafka.model.Serverless;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
@@ -30,8 +32,11 @@ public class AbstractTestBase {
     protected static final String CLIENT_REQUEST_TOKEN = "ClientToken";
     protected static final String CLUSTER_NAME = "ClusterName";
     protected static final String CLUSTER_ARN = "arn:aws:kafka:us-west-2:083674906042:cluster/ClusterName";
-    protected static final Set<String> SECURITY_GROUP_IDS = Sets.newHashSet("SecurityGroup");
-    protected static final Set<String> SUBNET_IDS =  Sets.newHashSet("Subnets");
+    protected static final String BOOTSTRAP_SERVERS =
+        "boot-abcd1234.c2.kafka-serverless.us-west-2.amazonaws.com:9098";
+    protected static final Set<String> SECURITY_GROUP_IDS = Sets.newHashSet("sg-0123456789abcdef0");
+    protected static final Set<String> SUBNET_IDS =
+        Sets.newHashSet("subnet-0123456789abcdef0", "subnet-0fedcba9876543210");
     protected static final ClientAuthentication CLIENT_AUTHENTICATION =
         ClientAuthentication.builder()
             .sasl(Sasl.builder().iam(Iam.builder().enabled(true).build()).build()).build();
@@ -80,6 +85,22 @@ public class AbstractTestBase {
         logger = new LoggerProxy();
     }
 
+    /**
+     * Every test starts with the bootstrap brokers of {@link #CLUSTER_ARN} uncached, whatever earlier tests read
+     */
+    @BeforeEach
+    public void clearBootstrapBrokersCache() {
+        BootstrapBrokersCache.getInstance().invalidate(CLUSTER_ARN);
+    }
+
+    /**
+     * Caches the bootstrap brokers of {@link #CLUSTER_ARN}, as in a warm container, for tests that do not expect a
+     * GetBootstrapBrokers call
+     */
+    protected static void seedBootstrapBrokersCache() {
+        BootstrapBrokersCache.getInstance().put(CLUSTER_ARN, BOOTSTRAP_SERVERS);
+    }
+
     static ProxyClient<KafkaClient> MOCK_PROXY(
         final AmazonWebServicesClientProxy proxy,
         final KafkaClient kafkaClient) {
@@ -146,4 +167,8 @@ public class AbstractTestBase {
             .tags(TAGS)
             .build();
     }
+
+    protected GetBootstrapBrokersResponse getBootstrapBrokers() {
+        return GetBootstrapBrokersResponse.builder().bootstrapBrokerStringSaslIam(BOOTSTRAP_SERVERS).build();
+    }
 }
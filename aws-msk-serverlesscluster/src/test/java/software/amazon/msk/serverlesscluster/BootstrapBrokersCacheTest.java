@@ -0,0 +1,62 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BootstrapBrokersCacheTest {
+    private static final String CLUSTER_ARN = "arn:aws:kafka:us-west-2:083674906042:cluster/ClusterName";
+    private static final String BOOTSTRAP_SERVERS = "boot-abcd1234.c2.kafka-serverless.us-west-2.amazonaws.com:9098";
+
+    @Test
+    public void get_AfterTimeToLive_Expires() {
+        // Given
+        final MutableClock clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        final BootstrapBrokersCache cache = new BootstrapBrokersCache(clock);
+        cache.put(CLUSTER_ARN, BOOTSTRAP_SERVERS);
+
+        // When
+        clock.advance(BootstrapBrokersCache.TIME_TO_LIVE.minus(Duration.ofSeconds(1L)));
+        final String beforeExpiry = cache.get(CLUSTER_ARN);
+        clock.advance(Duration.ofSeconds(1L));
+        final String afterExpiry = cache.get(CLUSTER_ARN);
+
+        // Then
+        assertThat(beforeExpiry).isEqualTo(BOOTSTRAP_SERVERS);
+        assertThat(afterExpiry).isNull();
+    }
+
+    @Test
+    public void invalidate_DeletedCluster_Drops() {
+        // Given
+        final BootstrapBrokersCache cache = new BootstrapBrokersCache(Clock.systemUTC());
+        cache.put(CLUSTER_ARN, BOOTSTRAP_SERVERS);
+
+        // When
+        cache.invalidate(CLUSTER_ARN);
+
+        // Then
+        assertThat(cache.get(CLUSTER_ARN)).isNull();
+    }
+
+    @Test
+    public void put_BeyondMaxEntries_EvictsLeastRecentlyUsed() {
+        // Given
+        final BootstrapBrokersCache cache = new BootstrapBrokersCache(Clock.systemUTC());
+        for (int i = 0; i < BootstrapBrokersCache.MAX_ENTRIES; i++) {
+            cache.put(CLUSTER_ARN + i, BOOTSTRAP_SERVERS);
+        }
+        cache.get(CLUSTER_ARN + 0);
+
+        // When
+        cache.put(CLUSTER_ARN, BOOTSTRAP_SERVERS);
+
+        // Then
+        assertThat(cache.get(CLUSTER_ARN + 0)).isEqualTo(BOOTSTRAP_SERVERS);
+        assertThat(cache.get(CLUSTER_ARN + 1)).isNull();
+        assertThat(cache.get(CLUSTER_ARN)).isEqualTo(BOOTSTRAP_SERVERS);
+    }
+}
@@ -0,0 +1,128 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CallTimeoutsTest extends AbstractTestBase {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2022-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void forCall_RepeatableCall_BoundsCallAndAttempt() {
+        // When
+        final AwsRequestOverrideConfiguration overrideConfiguration =
+            CallTimeouts.forCall(CallTimeouts.Api.DESCRIBE_CLUSTER_V2, timer(Duration.ofSeconds(60L)));
+
+        // Then
+        assertThat(overrideConfiguration.apiCallTimeout()).contains(Duration.ofSeconds(55L));
+        assertThat(overrideConfiguration.apiCallAttemptTimeout()).contains(Duration.ofSeconds(5L));
+    }
+
+    @Test
+    public void forCall_Mutation_BoundsOnlyTheCall() {
+        // When
+        final AwsRequestOverrideConfiguration overrideConfiguration =
+            CallTimeouts.forCall(CallTimeouts.Api.CREATE_CLUSTER_V2, timer(Duration.ofSeconds(60L)));
+
+        // Then
+        assertThat(overrideConfiguration.apiCallTimeout()).contains(Duration.ofSeconds(55L));
+        assertThat(overrideConfiguration.apiCallAttemptTimeout()).isEmpty();
+    }
+
+    @Test
+    public void forCall_BudgetSpent_KeepsMinimumTimeout() {
+        // When
+        final AwsRequestOverrideConfiguration overrideConfiguration =
+            CallTimeouts.forCall(CallTimeouts.Api.LIST_CLUSTERS_V2, timer(Duration.ofSeconds(2L)));
+
+        // Then
+        assertThat(overrideConfiguration.apiCallTimeout()).contains(CallTimeouts.MIN_CALL_TIMEOUT);
+        assertThat(overrideConfiguration.apiCallAttemptTimeout()).contains(CallTimeouts.MIN_CALL_TIMEOUT);
+    }
+
+    @Test
+    public void translateToReadRequest_WithTimer_SetsTimeouts() {
+        // When
+        final DescribeClusterV2Request describeClusterRequest =
+            Translator.translateToReadRequest(buildResourceModel(), timer(Duration.ofSeconds(60L)));
+
+        // Then
+        assertThat(describeClusterRequest.clusterArn()).isEqualTo(CLUSTER_ARN);
+        assertThat(describeClusterRequest.overrideConfiguration()
+            .flatMap(AwsRequestOverrideConfiguration::apiCallAttemptTimeout)).contains(Duration.ofSeconds(5L));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_Interceptors_TimeoutsReachClient() {
+        // When
+        final DescribeClusterV2Request received = describeThrough(Collections.singletonList(
+            new ApiCallEventsInterceptor()));
+
+        // Then
+        assertReceivedTimeouts(received);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_NoInterceptor_TimeoutsReachClient() {
+        // When
+        final DescribeClusterV2Request received = describeThrough(Collections.emptyList());
+
+        // Then
+        assertReceivedTimeouts(received);
+    }
+
+    /**
+     * Describes the cluster through the plugin proxy, which replaces the override configuration of the request with
+     * one holding the caller credentials
+     * @return the request the KafkaClient received
+     */
+    private DescribeClusterV2Request describeThrough(final List<ServiceCallInterceptor> interceptors) {
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        final KafkaClient kafkaClient = mock(KafkaClient.class);
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        final InterceptingProxyClient proxyClient =
+            new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient), interceptors);
+
+        proxyClient.injectCredentialsAndInvokeV2(
+            Translator.translateToReadRequest(buildResourceModel(), timer(Duration.ofSeconds(60L))),
+            proxyClient.client()::describeClusterV2);
+
+        final ArgumentCaptor<DescribeClusterV2Request> received =
+            ArgumentCaptor.forClass(DescribeClusterV2Request.class);
+        verify(kafkaClient).describeClusterV2(received.capture());
+        return received.getValue();
+    }
+
+    private static void assertReceivedTimeouts(final DescribeClusterV2Request received) {
+        assertThat(received.clusterArn()).isEqualTo(CLUSTER_ARN);
+        final AwsRequestOverrideConfiguration overrideConfiguration = received.overrideConfiguration().get();
+        assertThat(overrideConfiguration.apiCallTimeout()).contains(Duration.ofSeconds(55L));
+        assertThat(overrideConfiguration.apiCallAttemptTimeout()).contains(Duration.ofSeconds(5L));
+        // the credentials the proxy injected are kept
+        assertThat(overrideConfiguration.credentialsProvider()).isPresent();
+    }
+
+    private static InvocationTimer timer(final Duration budget) {
+        return new InvocationTimer(CLOCK, duration -> { }, budget);
+    }
+}
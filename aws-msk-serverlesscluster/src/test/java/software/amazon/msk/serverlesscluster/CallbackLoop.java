@@ -0,0 +1,84 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Plays the CloudFormation callback loop around a handler on a {@link MutableClock}, so a lifecycle with hundreds of
+ * stabilization polls runs in milliseconds.
+ *
+ * An IN_PROGRESS event is answered by invoking the handler again with the returned callback context, once the clock
+ * moved by the callback delay. The handlers wait within an invocation through {@link #invocationTimers()}, which move
+ * the clock instead of sleeping, and the proxy reports no Lambda time left, so the RPDK hands every wait of its own
+ * back as a callback instead of sleeping. Unlike CloudFormation, the callback context is passed on as is rather than
+ * through its JSON form.
+ */
+final class CallbackLoop {
+    static final int MAX_INVOCATIONS = 10_000;
+
+    private final MutableClock clock;
+    private final AmazonWebServicesClientProxy proxy;
+    private final ProxyClient<KafkaClient> proxyClient;
+    private final StabilizationStats stabilizationStats = new StabilizationStats();
+    private int invocations;
+
+    CallbackLoop(final MutableClock clock, final KafkaClient kafkaClient) {
+        this.clock = clock;
+        this.proxy = new AmazonWebServicesClientProxy(AbstractTestBase.logger, AbstractTestBase.MOCK_CREDENTIALS,
+            () -> 0L);
+        this.proxyClient = AbstractTestBase.MOCK_PROXY(proxy, kafkaClient);
+    }
+
+    /**
+     * @return invocation timers of the full invocation budget, waiting on the virtual clock
+     */
+    Supplier<InvocationTimer> invocationTimers() {
+        return () -> new InvocationTimer(clock, clock::advance, InvocationTimer.INVOCATION_BUDGET);
+    }
+
+    /**
+     * @return stabilization stats kept in memory for the handlers of this loop, not in the container's history file
+     */
+    Supplier<StabilizationStats> stabilizationStats() {
+        return () -> stabilizationStats;
+    }
+
+    /**
+     * Invokes the handler until it returns anything but IN_PROGRESS
+     * @param handler handler built with {@link #invocationTimers()}
+     * @param request handler request, passed to every invocation
+     * @return the final progress event
+     */
+    ProgressEvent<ResourceModel, CallbackContext> run(final BaseHandlerStd handler,
+                                                      final ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            invocations++;
+            final ProgressEvent<ResourceModel, CallbackContext> progress = handler.handleRequest(proxy, request,
+                callbackContext, proxyClient, AbstractTestBase.logger);
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                return progress;
+            }
+            clock.advance(Duration.ofSeconds(progress.getCallbackDelaySeconds()));
+            if (progress.getCallbackContext() != null) {
+                callbackContext = progress.getCallbackContext();
+            }
+        }
+        throw new IllegalStateException(String.format("%s still in progress after %d invocations",
+            handler.getClass().getSimpleName(), MAX_INVOCATIONS));
+    }
+
+    /**
+     * @return number of handler invocations across every run
+     */
+    int invocations() {
+        return invocations;
+    }
+}
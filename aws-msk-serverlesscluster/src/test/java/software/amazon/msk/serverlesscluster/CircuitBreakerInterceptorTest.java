@@ -0,0 +1,161 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.awssdk.services.kafka.model.NotFoundException;
+import software.amazon.awssdk.services.kafka.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CircuitBreakerInterceptorTest extends AbstractTestBase {
+    private static final String REGION = "us-west-2";
+    private static final int MINIMUM_CALLS = 4;
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private InterceptingProxyClient proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        circuitBreakers = new CircuitBreakerRegistry(
+            new CircuitBreaker.Settings(10, MINIMUM_CALLS, 0.5, Duration.ofSeconds(30L)), Clock.systemUTC());
+        proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(new CircuitBreakerInterceptor(circuitBreakers, REGION)));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ServiceUnavailable_OpensAndFailsFast() {
+        // Given
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenThrow(ServiceUnavailableException.builder().message("unavailable").build());
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(this::describe).isInstanceOf(ServiceUnavailableException.class);
+        }
+
+        // When / Then
+        assertThatThrownBy(this::describe).isInstanceOf(CircuitOpenException.class)
+            .hasMessageContaining("DescribeClusterV2");
+        verify(kafkaClient, times(MINIMUM_CALLS)).describeClusterV2(any(DescribeClusterV2Request.class));
+        assertThat(circuitBreakers.breakerFor(REGION, "ListClustersV2").state())
+            .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ClientErrors_StaysClosed() {
+        // Given
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenThrow(NotFoundException.builder().statusCode(404).message("not found").build());
+
+        // When
+        for (int i = 0; i < MINIMUM_CALLS * 2; i++) {
+            assertThatThrownBy(this::describe).isInstanceOf(NotFoundException.class);
+        }
+
+        // Then
+        assertThat(circuitBreakers.breakerFor(REGION, "DescribeClusterV2").state())
+            .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_OtherApi_NotAffected() {
+        // Given
+        tripBreaker("DescribeClusterV2");
+        when(kafkaClient.listClustersV2(any(ListClustersV2Request.class)))
+            .thenReturn(ListClustersV2Response.builder().build());
+
+        // When
+        final ListClustersV2Response listClustersResponse = proxyClient.injectCredentialsAndInvokeV2(
+            ListClustersV2Request.builder().build(), proxyClient.client()::listClustersV2);
+
+        // Then
+        assertThat(listClustersResponse).isNotNull();
+    }
+
+    @Test
+    public void readHandler_CircuitOpen_FailsWithoutCall() {
+        // Given
+        tripBreaker("DescribeClusterV2");
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .region(REGION)
+            .build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response = new ReadHandler()
+            .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        verify(kafkaClient, times(0)).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
+    @Test
+    public void updateHandler_CircuitOpen_InProgressWithoutCall() {
+        // Given
+        tripBreaker("TagResource");
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .previousResourceState(buildResourceModel())
+            .desiredResourceState(buildResourceModelWithTags(TAGS_ADDED))
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .region(REGION)
+            .build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response = new UpdateHandler()
+            .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(1, 30);
+        assertThat(response.getErrorCode()).isNull();
+        verify(kafkaClient, times(0)).tagResource(any(TagResourceRequest.class));
+    }
+
+    private DescribeClusterV2Response describe() {
+        return proxyClient.injectCredentialsAndInvokeV2(DescribeClusterV2Request.builder().clusterArn(CLUSTER_ARN)
+            .build(), proxyClient.client()::describeClusterV2);
+    }
+
+    private void tripBreaker(final String api) {
+        final CircuitBreaker circuitBreaker = circuitBreakers.breakerFor(REGION, api);
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onResult(false);
+        }
+    }
+}
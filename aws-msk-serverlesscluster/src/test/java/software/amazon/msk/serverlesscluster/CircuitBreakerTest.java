@@ -0,0 +1,117 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+    private static final Duration COOLDOWN = Duration.ofSeconds(30L);
+    private static final CircuitBreaker.Settings SETTINGS = new CircuitBreaker.Settings(10, 4, 0.5, COOLDOWN);
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        circuitBreaker = new CircuitBreaker(SETTINGS, clock);
+    }
+
+    @Test
+    public void onResult_FailureRateReached_Opens() {
+        // When
+        record(true, true, false, false);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.retryAfter()).isEqualTo(COOLDOWN);
+    }
+
+    @Test
+    public void onResult_TooFewCalls_StaysClosed() {
+        // When
+        record(false, false, false);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void onResult_FailuresSlideOutOfWindow_StaysClosed() {
+        // Given
+        record(false, false, false, true, true, true, true, true, true);
+
+        // When
+        record(true, true, true, true, false);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void tryAcquire_CooldownPassed_LetsOneProbeThrough() {
+        // Given
+        record(false, false, false, false);
+        clock.advance(COOLDOWN);
+
+        // When
+        final boolean probe = circuitBreaker.tryAcquire();
+        final boolean concurrentCall = circuitBreaker.tryAcquire();
+
+        // Then
+        assertThat(probe).isTrue();
+        assertThat(concurrentCall).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    public void onResult_HealthyProbe_Closes() {
+        // Given
+        record(false, false, false, false);
+        clock.advance(COOLDOWN);
+        circuitBreaker.tryAcquire();
+
+        // When
+        circuitBreaker.onResult(true);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        record(false, false, false);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void onResult_FailedProbe_Reopens() {
+        // Given
+        record(false, false, false, false);
+        clock.advance(COOLDOWN);
+        circuitBreaker.tryAcquire();
+
+        // When
+        circuitBreaker.onResult(false);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.retryAfter()).isEqualTo(COOLDOWN);
+    }
+
+    @Test
+    public void settings_InvalidFailureRate_Rejected() {
+        assertThatThrownBy(() -> new CircuitBreaker.Settings(10, 4, 1.5, COOLDOWN))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void record(final boolean... outcomes) {
+        for (final boolean healthy : outcomes) {
+            circuitBreaker.onResult(healthy);
+        }
+    }
+}
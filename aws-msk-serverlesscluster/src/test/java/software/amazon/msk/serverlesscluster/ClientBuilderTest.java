@@ -15,4 +15,12 @@ public class ClientBuilderTest extends AbstractTestBase {
         // Then
         assertThat(kafkaClient).isNotNull();
     }
+
+    @Test
+    public void test_getKafkaClient_ReusesClient() {
+        // When
+        KafkaClient kafkaClient = ClientBuilder.getClient();
+        // Then
+        assertThat(ClientBuilder.getClient()).isSameAs(kafkaClient);
+    }
 }
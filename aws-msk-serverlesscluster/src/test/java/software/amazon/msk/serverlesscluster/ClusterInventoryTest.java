@@ -0,0 +1,153 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.awssdk.services.kafka.model.ServiceUnavailableException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ClusterInventoryTest {
+    private static final String US_EAST_1 = "us-east-1";
+    private static final String US_WEST_2 = "us-west-2";
+
+    private final List<String> listed = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void list_TwoRegions_PagesInParallel() {
+        // Given
+        final CountDownLatch bothRegionsListing = new CountDownLatch(2);
+        final KafkaClient east = regionWaitingFor(bothRegionsListing, "east");
+        final KafkaClient west = regionWaitingFor(bothRegionsListing, "west");
+        final ClusterInventory inventory = new ClusterInventory(
+            region -> new ClusterInventory.DirectProxyClient(US_EAST_1.equals(region) ? east : west), 10,
+            Duration.ofMinutes(1L), Clock.systemUTC());
+
+        // When
+        final List<ClusterInventory.RegionResult> results =
+            inventory.list(Arrays.asList(US_EAST_1, US_WEST_2), null, this::record);
+
+        // Then
+        assertThat(results.get(0).error).isNull();
+        assertThat(results.get(1).error).isNull();
+        assertThat(listed).containsExactlyInAnyOrder(US_EAST_1 + " east", US_WEST_2 + " west");
+    }
+
+    @Test
+    public void list_FailingRegion_KeepsOtherRegions() {
+        // Given
+        final KafkaClient east = mock(KafkaClient.class);
+        when(east.listClustersV2(argThat((ListClustersV2Request request) -> request != null
+            && request.nextToken() == null)))
+            .thenReturn(page("token", "east-1", "east-2"));
+        when(east.listClustersV2(argThat((ListClustersV2Request request) -> request != null
+            && "token".equals(request.nextToken()))))
+            .thenReturn(page(null, "east-3"));
+        final KafkaClient west = mock(KafkaClient.class);
+        when(west.listClustersV2(any(ListClustersV2Request.class)))
+            .thenThrow(ServiceUnavailableException.builder().message("unavailable").build());
+        final ClusterInventory inventory = new ClusterInventory(
+            region -> new ClusterInventory.DirectProxyClient(US_EAST_1.equals(region) ? east : west), 10,
+            Duration.ofMinutes(1L), Clock.systemUTC());
+
+        // When
+        final List<ClusterInventory.RegionResult> results =
+            inventory.list(Arrays.asList(US_EAST_1, US_WEST_2), null, this::record);
+
+        // Then
+        assertThat(results.get(0).error).isNull();
+        assertThat(results.get(0).clusters).isEqualTo(3);
+        assertThat(results.get(0).pages).isEqualTo(2);
+        assertThat(results.get(1).error).startsWith("ServiceUnavailableException");
+        assertThat(results.get(1).toJson()).contains("\"region\":\"us-west-2\"").contains("\"clusters\":0");
+        assertThat(listed).containsExactlyInAnyOrder(US_EAST_1 + " east-1", US_EAST_1 + " east-2",
+            US_EAST_1 + " east-3");
+    }
+
+    @Test
+    public void list_PastDeadline_StopsRegion() {
+        // Given
+        final MutableClock clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        final KafkaClient east = mock(KafkaClient.class);
+        when(east.listClustersV2(any(ListClustersV2Request.class))).thenAnswer(invocation -> {
+            clock.advance(Duration.ofSeconds(40L));
+            return page("token", "east-1");
+        });
+        final ClusterInventory inventory = new ClusterInventory(
+            region -> new ClusterInventory.DirectProxyClient(east), 10, Duration.ofMinutes(1L), clock);
+
+        // When
+        final List<ClusterInventory.RegionResult> results =
+            inventory.list(Collections.singletonList(US_EAST_1), null, this::record);
+
+        // Then
+        assertThat(results.get(0).error).isEqualTo("Timed out after 2 pages");
+        assertThat(results.get(0).duration).isEqualTo(Duration.ofSeconds(80L));
+        assertThat(listed).hasSize(2);
+    }
+
+    @Test
+    public void list_Pages_CallTimeoutUntilDeadline() {
+        // Given
+        final MutableClock clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        final List<Duration> callTimeouts = new ArrayList<>();
+        final KafkaClient east = mock(KafkaClient.class);
+        when(east.listClustersV2(any(ListClustersV2Request.class))).thenAnswer(invocation -> {
+            callTimeouts.add(invocation.<ListClustersV2Request>getArgument(0).overrideConfiguration()
+                .flatMap(AwsRequestOverrideConfiguration::apiCallTimeout).orElse(null));
+            clock.advance(Duration.ofSeconds(40L));
+            return page("token", "east-1");
+        });
+        final ClusterInventory inventory = new ClusterInventory(
+            region -> new ClusterInventory.DirectProxyClient(east), 10, Duration.ofMinutes(1L), clock);
+
+        // When
+        inventory.list(Collections.singletonList(US_EAST_1), null, this::record);
+
+        // Then
+        assertThat(callTimeouts).containsExactly(Duration.ofMinutes(1L), Duration.ofSeconds(20L));
+    }
+
+    private void record(final String region, final Cluster cluster) {
+        listed.add(region + " " + cluster.clusterName());
+    }
+
+    private static KafkaClient regionWaitingFor(final CountDownLatch bothRegionsListing, final String clusterName) {
+        final KafkaClient client = mock(KafkaClient.class);
+        when(client.listClustersV2(any(ListClustersV2Request.class))).thenAnswer(invocation -> {
+            bothRegionsListing.countDown();
+            // listed one region after the other, the first region would wait for the second in vain
+            if (!bothRegionsListing.await(10L, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Regions listed one after the other");
+            }
+            return page(null, clusterName);
+        });
+        return client;
+    }
+
+    private static ListClustersV2Response page(final String nextToken, final String... clusterNames) {
+        final List<Cluster> clusters = new ArrayList<>(clusterNames.length);
+        for (final String clusterName : clusterNames) {
+            clusters.add(Cluster.builder().clusterName(clusterName)
+                .clusterArn("arn:aws:kafka:us-east-1:083674906042:cluster/" + clusterName).build());
+        }
+        return ListClustersV2Response.builder().clusterInfoList(clusters).nextToken(nextToken).build();
+    }
+}
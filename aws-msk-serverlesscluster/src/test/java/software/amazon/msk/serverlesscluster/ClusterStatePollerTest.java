@@ -0,0 +1,250 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.ForbiddenException;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ClusterStatePollerTest extends AbstractTestBase {
+    private static final String OTHER_CLUSTER_ARN = "arn:aws:kafka:us-west-2:083674906042:cluster/OtherCluster";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<KafkaClient> proxyClient;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    private MutableClock clock;
+
+    private ClusterStatePoller poller;
+
+    private InvocationTimer invocationTimer;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        proxyClient = MOCK_PROXY(proxy, kafkaClient);
+        clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        poller = new ClusterStatePoller(clock);
+        invocationTimer = InvocationTimer.start();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        verifyNoMoreInteractions(kafkaClient);
+    }
+
+    @Test
+    public void currentState_SingleClusterInFlight_Describes() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING))
+                .build());
+
+        // When
+        final ClusterState state = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(state).isEqualTo(ClusterState.CREATING);
+        verify(proxyClient.client()).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
+    @Test
+    public void currentState_ManyClustersInFlight_SharesOneListing() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING))
+                .build());
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenReturn(ListClustersV2Response.builder()
+                .clusterInfoList(getServerlessCluster(ClusterState.ACTIVE),
+                    Cluster.builder().clusterArn(OTHER_CLUSTER_ARN).state(ClusterState.CREATING).build())
+                .build());
+
+        // When
+        final ClusterState firstState = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+        final ClusterState otherState =
+            poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        final ClusterState refreshedState = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(firstState).isEqualTo(ClusterState.CREATING);
+        assertThat(otherState).isEqualTo(ClusterState.CREATING);
+        assertThat(refreshedState).isEqualTo(ClusterState.ACTIVE);
+        verify(proxyClient.client(), times(1)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(1)).listClustersV2(any(ListClustersV2Request.class));
+    }
+
+    @Test
+    public void currentState_StaleSnapshot_ListsAgain() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING))
+                .build());
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenReturn(ListClustersV2Response.builder()
+                .clusterInfoList(Cluster.builder().clusterArn(OTHER_CLUSTER_ARN).state(ClusterState.CREATING).build())
+                .build());
+
+        // When
+        poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+        poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        clock.advance(ClusterStatePoller.SNAPSHOT_MAX_AGE.plusSeconds(1L));
+        final ClusterState state = poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+
+        // Then
+        assertThat(state).isEqualTo(ClusterState.CREATING);
+        verify(proxyClient.client(), times(1)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(2)).listClustersV2(any(ListClustersV2Request.class));
+    }
+
+    @Test
+    public void currentState_ClusterMissingFromListing_FallsBackToDescribe() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.DELETING))
+                .build());
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenThrow(ForbiddenException.class);
+
+        // When
+        poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        final ClusterState state = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(state).isEqualTo(ClusterState.DELETING);
+        verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(1)).listClustersV2(any(ListClustersV2Request.class));
+    }
+
+    @Test
+    public void currentState_ListingClientError_FallsBackToDescribe() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.DELETING))
+                .build());
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenThrow(SdkClientException.create("Unable to execute HTTP request"));
+
+        // When
+        poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        final ClusterState state = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(state).isEqualTo(ClusterState.DELETING);
+        verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(1)).listClustersV2(any(ListClustersV2Request.class));
+    }
+
+    @Test
+    public void currentState_OtherCredentials_ListsOnItsOwn() {
+        // Given
+        final AmazonWebServicesClientProxy otherProxy = new AmazonWebServicesClientProxy(logger,
+            new Credentials("otherAccessKey", "otherSecretKey", "otherToken"),
+            () -> Duration.ofSeconds(600).toMillis());
+        final ProxyClient<KafkaClient> otherProxyClient = MOCK_PROXY(otherProxy, kafkaClient);
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING))
+                .build());
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenReturn(ListClustersV2Response.builder()
+                .clusterInfoList(getServerlessCluster(ClusterState.ACTIVE),
+                    Cluster.builder().clusterArn(OTHER_CLUSTER_ARN).state(ClusterState.CREATING).build())
+                .build());
+
+        // When
+        poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+        poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        final ClusterState otherCallerState =
+            poller.currentState(otherProxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        final ClusterState otherCallerListedState =
+            poller.currentState(otherProxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(otherCallerState).isEqualTo(ClusterState.CREATING);
+        assertThat(otherCallerListedState).isEqualTo(ClusterState.ACTIVE);
+        verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(2)).listClustersV2(any(ListClustersV2Request.class));
+    }
+
+    @Test
+    public void release_ClusterNoLongerCountsAsInFlight() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE))
+                .build());
+
+        // When
+        poller.currentState(proxyClient, modelWithArn(OTHER_CLUSTER_ARN), invocationTimer);
+        poller.release(OTHER_CLUSTER_ARN);
+        final ClusterState state = poller.currentState(proxyClient, buildResourceModel(), invocationTimer);
+
+        // Then
+        assertThat(state).isEqualTo(ClusterState.ACTIVE);
+        verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
+    private static ResourceModel modelWithArn(final String clusterArn) {
+        return ResourceModel.builder().arn(clusterArn).clusterName(CLUSTER_NAME).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        private void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
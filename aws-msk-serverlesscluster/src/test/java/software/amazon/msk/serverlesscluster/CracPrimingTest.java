@@ -0,0 +1,48 @@
+package software.amazon.msk.serverlesscluster;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CracPrimingTest extends AbstractTestBase {
+
+    @Test
+    public void beforeCheckpoint_Primed_DiscardsClient() throws Exception {
+        // Given
+        final KafkaClient beforeCheckpoint = ClientBuilder.getClient();
+
+        // When
+        new CracPriming().beforeCheckpoint(null);
+
+        // Then
+        assertThat(ClientBuilder.getClient()).isNotNull().isNotSameAs(beforeCheckpoint);
+    }
+
+    @Test
+    public void beforeCheckpoint_RegionClient_LeftOpen() throws Exception {
+        // Given
+        final KafkaClient regionClient = ClientBuilder.getClient("us-west-2");
+
+        // When
+        new CracPriming().beforeCheckpoint(null);
+
+        // Then
+        assertThat(ClientBuilder.getClient("us-west-2")).isSameAs(regionClient);
+    }
+
+    @Test
+    public void afterRestore_NoClient_BuildsNewClient() throws Exception {
+        // Given
+        final CracPriming priming = new CracPriming();
+        priming.beforeCheckpoint(null);
+
+        // When
+        priming.afterRestore(null);
+        final KafkaClient restored = ClientBuilder.getClient();
+
+        // Then
+        assertThat(ClientBuilder.getClient()).isSameAs(restored);
+    }
+}
@@ -1,7 +1,15 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
 import java.util.stream.Stream;
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +30,7 @@ import software.amazon.awssdk.services.kafka.model.CreateClusterV2Response;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
 import software.amazon.awssdk.services.kafka.model.ForbiddenException;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
 import software.amazon.awssdk.services.kafka.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafka.model.KafkaException;
 import software.amazon.awssdk.services.kafka.model.NotFoundException;
@@ -32,6 +41,7 @@ import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -48,7 +58,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
 public class CreateHandlerTest extends AbstractTestBase{
 
     @Mock
@@ -62,6 +72,8 @@ public class CreateHandlerTest extends AbstractTestBase{
 
     private CreateHandler createHandler;
 
+    private final StabilizationStats stabilizationStats = new StabilizationStats();
+
     private static Stream<Arguments> requestKafkaErrorToCfnError() {
         return Stream.of(
             arguments(TooManyRequestsException.class, HandlerErrorCode.Throttling),
@@ -86,7 +98,10 @@ public class CreateHandlerTest extends AbstractTestBase{
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         kafkaClient = mock(KafkaClient.class);
         proxyClient = MOCK_PROXY(proxy, kafkaClient);
-        createHandler = new CreateHandler();
+        final MutableClock clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        // polls within an invocation move the clock instead of sleeping
+        createHandler = new CreateHandler(() -> new InvocationTimer(clock, clock::advance,
+            InvocationTimer.INVOCATION_BUDGET), () -> stabilizationStats);
     }
 
     @AfterEach
@@ -97,6 +112,8 @@ public class CreateHandlerTest extends AbstractTestBase{
     @Test
     public void handleRequest_SimpleSuccess() {
         // Given
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(getBootstrapBrokers());
         final CreateClusterV2Response createClusterResponse =
             CreateClusterV2Response.builder().state(ClusterState.CREATING).clusterArn(CLUSTER_ARN)
                 .clusterName(CLUSTER_NAME).build();
@@ -141,9 +158,154 @@ public class CreateHandlerTest extends AbstractTestBase{
 
         verify(proxyClient.client()).createClusterV2(any(CreateClusterV2Request.class));
         verify(proxyClient.client(), times(3)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client()).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
         verify(kafkaClient, atLeastOnce()).serviceName();
     }
 
+    @Test
+    public void handleRequest_CreateResponseActive_SkipsStabilizationDescribe() {
+        // Given
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(getBootstrapBrokers());
+        when(proxyClient.client().createClusterV2(any(CreateClusterV2Request.class)))
+            .thenReturn(CreateClusterV2Response.builder().state(ClusterState.ACTIVE).clusterArn(CLUSTER_ARN)
+                .clusterName(CLUSTER_NAME).build());
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE))
+                .build());
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .desiredResourceTags(TAGS)
+            .build();
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = createHandler.handleRequest(proxy, request,
+            callbackContext, proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(callbackContext.isCreateResponseStateConsumed()).isTrue();
+        assertThat(callbackContext.getStabilizationStartedAt()).isNotNull();
+
+        verify(proxyClient.client()).createClusterV2(any(CreateClusterV2Request.class));
+        // only the final read describes the cluster
+        verify(proxyClient.client(), times(1)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client()).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_TimeLeft_StabilizesWithinInvocation() {
+        // Given
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(getBootstrapBrokers());
+        when(proxyClient.client().createClusterV2(any(CreateClusterV2Request.class)))
+            .thenReturn(CreateClusterV2Response.builder().state(ClusterState.CREATING).clusterArn(CLUSTER_ARN)
+                .clusterName(CLUSTER_NAME).build());
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING))
+                .build())
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE))
+                .build());
+        final List<Duration> sleeps = new ArrayList<>();
+        createHandler = new CreateHandler(() -> new InvocationTimer(Clock.systemUTC(), sleeps::add,
+            Duration.ofHours(1L)), () -> stabilizationStats);
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .desiredResourceTags(TAGS)
+            .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = createHandler.handleRequest(proxy, request,
+            new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // both polls waited inside the invocation
+        assertThat(sleeps).hasSize(2);
+
+        verify(proxyClient.client()).createClusterV2(any(CreateClusterV2Request.class));
+        verify(proxyClient.client(), times(3)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client()).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_ReadinessProbeEnabled_WaitsForMetadata() {
+        // Given
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(getBootstrapBrokers());
+        when(proxyClient.client().createClusterV2(any(CreateClusterV2Request.class)))
+            .thenReturn(CreateClusterV2Response.builder().state(ClusterState.ACTIVE).clusterArn(CLUSTER_ARN)
+                .clusterName(CLUSTER_NAME).build());
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE))
+                .build());
+        final List<String> probedServers = new ArrayList<>();
+        final Iterator<KafkaReadinessProbe.Result> results = Arrays.asList(KafkaReadinessProbe.Result.NOT_READY,
+            KafkaReadinessProbe.Result.READY).iterator();
+        final KafkaReadinessProbe readinessProbe = new KafkaReadinessProbe(true, new Properties(),
+            KafkaReadinessProbe.PROBE_TIMEOUT, null) {
+            @Override
+            Result probe(final String bootstrapServers, final Logger logger) {
+                probedServers.add(bootstrapServers);
+                return results.next();
+            }
+        };
+        final List<Duration> sleeps = new ArrayList<>();
+        createHandler = new CreateHandler(() -> new InvocationTimer(Clock.systemUTC(), sleeps::add,
+            Duration.ofHours(1L)), readinessProbe, () -> stabilizationStats);
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .desiredResourceTags(TAGS)
+            .build();
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = createHandler.handleRequest(proxy, request,
+            callbackContext, proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(probedServers).containsExactly(BOOTSTRAP_SERVERS, BOOTSTRAP_SERVERS);
+        assertThat(sleeps).containsExactly(KafkaReadinessProbe.PROBE_INTERVAL);
+        assertThat(callbackContext.getActiveObservedAt()).isNotNull();
+
+        verify(proxyClient.client()).createClusterV2(any(CreateClusterV2Request.class));
+        verify(proxyClient.client(), times(1)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client()).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_InvalidModel_FailsBeforeCallingMsk() {
+        // Given
+        final ResourceModel model = buildResourceModel();
+        model.setVpcConfigs(Sets.newHashSet(
+            VpcConfig.builder().subnetIds(Sets.newHashSet("subnet-1")).securityGroups(SECURITY_GROUP_IDS).build()));
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = createHandler.handleRequest(proxy, request,
+            new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).contains("SubnetIds");
+    }
+
     @ParameterizedTest
     @MethodSource("requestKafkaErrorToCfnError")
     public void handleRequest_Exception(Class<KafkaException> kafkaException, HandlerErrorCode cfnError) {
@@ -1,6 +1,10 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,7 +52,7 @@ import static org.mockito.Mockito.when;
 import static software.amazon.msk.serverlesscluster.BaseHandlerStd.INVALID_PARAMETER_EXCEPTION;
 import static software.amazon.msk.serverlesscluster.BaseHandlerStd.MSK_API_PARAM_NAME_CLUSTERARN;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
 public class DeleteHandlerTest extends AbstractTestBase {
 
     @Mock
@@ -62,6 +66,8 @@ public class DeleteHandlerTest extends AbstractTestBase {
 
     private DeleteHandler handler;
 
+    private final StabilizationStats stabilizationStats = new StabilizationStats();
+
     private static Stream<Arguments> requestKafkaErrorToCfnError() {
         return Stream.of(
             arguments(InternalServerErrorException.class, HandlerErrorCode.InternalFailure),
@@ -84,7 +90,10 @@ public class DeleteHandlerTest extends AbstractTestBase {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         kafkaClient = mock(KafkaClient.class);
         proxyClient = MOCK_PROXY(proxy, kafkaClient);
-        handler = new DeleteHandler();
+        final MutableClock clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+        // polls within an invocation move the clock instead of sleeping
+        handler = new DeleteHandler(() -> new InvocationTimer(clock, clock::advance,
+            InvocationTimer.INVOCATION_BUDGET), () -> stabilizationStats);
     }
 
     @Test
@@ -123,6 +132,42 @@ public class DeleteHandlerTest extends AbstractTestBase {
         verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
     }
 
+    @Test
+    public void handleRequest_TimeLeft_StabilizesWithinInvocation() {
+        // Given
+        when(proxyClient.client().deleteCluster(any(DeleteClusterRequest.class)))
+            .thenReturn(DeleteClusterResponse.builder().build());
+
+        final DescribeClusterV2Response deletingStateDescribeClusterResponse =
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.DELETING)).build();
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenReturn(deletingStateDescribeClusterResponse)
+            .thenReturn(deletingStateDescribeClusterResponse)
+            .thenThrow(NotFoundException.class);
+        final List<Duration> sleeps = new ArrayList<>();
+        handler = new DeleteHandler(() -> new InvocationTimer(Clock.systemUTC(), sleeps::add, Duration.ofHours(1L)),
+            () -> stabilizationStats);
+
+        final ResourceModel model = ResourceModel.builder().clusterName(CLUSTER_NAME).build();
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model)
+                .clientRequestToken(CLIENT_REQUEST_TOKEN).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(sleeps).containsExactly(BaseHandlerStd.STABILIZATION_POLL_INTERVAL,
+            BaseHandlerStd.STABILIZATION_POLL_INTERVAL);
+
+        verify(proxyClient.client()).deleteCluster(any(DeleteClusterRequest.class));
+        verify(proxyClient.client(), times(3)).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
     @Test
     public void handleRequest_BadRequest_InvalidClusterArn_Success() {
         // Given
@@ -0,0 +1,187 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs many requests through a single handler instance on a thread pool, checking that no request observes the
+ * model, logger or callback context of another one.
+ */
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
+public class HandlerConcurrencyTest extends AbstractTestBase {
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 64;
+    private static final String CLUSTER_ARN_PREFIX = "arn:aws:kafka:us-west-2:083674906042:cluster/";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<KafkaClient> proxyClient;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        proxyClient = MOCK_PROXY(proxy, kafkaClient);
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenAnswer(invocation -> {
+                final String clusterArn = invocation.<DescribeClusterV2Request>getArgument(0).clusterArn();
+                return DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)
+                    .toBuilder()
+                    .clusterArn(clusterArn)
+                    .clusterName(clusterArn.substring(CLUSTER_ARN_PREFIX.length()))
+                    .build()).build();
+            });
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(GetBootstrapBrokersResponse.builder().bootstrapBrokerStringSaslIam(BOOTSTRAP_SERVERS).build());
+        for (int i = 0; i < REQUESTS; i++) {
+            // every request reads its own cluster, so every read looks its bootstrap brokers up
+            BootstrapBrokersCache.getInstance().invalidate(CLUSTER_ARN_PREFIX + Outcome.clusterNameOf(i));
+        }
+    }
+
+    @AfterEach
+    public void tear_down() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void readHandler_SharedInstance_KeepsRequestsApart() throws Exception {
+        // Given
+        final ReadHandler readHandler = new ReadHandler();
+
+        // When
+        final List<Outcome> outcomes = runConcurrently(outcome -> readHandler.handleRequest(proxy, outcome.request,
+            new CallbackContext(), proxyClient, outcome.logger));
+
+        // Then
+        assertIsolated(outcomes);
+    }
+
+    @Test
+    public void createHandler_SharedInstance_KeepsRequestsApart() throws Exception {
+        // Given
+        when(proxyClient.client().createClusterV2(any(CreateClusterV2Request.class)))
+            .thenAnswer(invocation -> {
+                final String clusterName = invocation.<CreateClusterV2Request>getArgument(0).clusterName();
+                return CreateClusterV2Response.builder().state(ClusterState.ACTIVE)
+                    .clusterArn(CLUSTER_ARN_PREFIX + clusterName).clusterName(clusterName).build();
+            });
+        final StabilizationStats stabilizationStats = new StabilizationStats();
+        final CreateHandler createHandler = new CreateHandler(InvocationTimer::start, () -> stabilizationStats);
+
+        // When
+        final List<Outcome> outcomes = runConcurrently(outcome -> {
+            outcome.request.getDesiredResourceState().setArn(null);
+            return createHandler.handleRequest(proxy, outcome.request, new CallbackContext(), proxyClient,
+                outcome.logger);
+        });
+
+        // Then
+        assertIsolated(outcomes);
+    }
+
+    private List<Outcome> runConcurrently(final HandlerCall call) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Outcome> outcomes = new ArrayList<>();
+        final List<Future<ProgressEvent<ResourceModel, CallbackContext>>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            final Outcome outcome = new Outcome(i);
+            outcomes.add(outcome);
+            final Callable<ProgressEvent<ResourceModel, CallbackContext>> task = () -> {
+                start.await();
+                return call.handle(outcome);
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        for (int i = 0; i < REQUESTS; i++) {
+            outcomes.get(i).response = futures.get(i).get(60L, TimeUnit.SECONDS);
+        }
+        return outcomes;
+    }
+
+    private static void assertIsolated(final List<Outcome> outcomes) {
+        for (final Outcome outcome : outcomes) {
+            assertThat(outcome.response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(outcome.response.getResourceModel().getClusterName()).isEqualTo(outcome.clusterName);
+            assertThat(outcome.response.getResourceModel().getArn()).isEqualTo(CLUSTER_ARN_PREFIX + outcome.clusterName);
+            assertThat(outcome.response.getResourceModel().getBootstrapServers()).isEqualTo(BOOTSTRAP_SERVERS);
+            assertThat(outcome.messages).isNotEmpty();
+            assertThat(outcome.messages).allSatisfy(message -> assertThat(message).contains(outcome.clusterName));
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandlerCall {
+        ProgressEvent<ResourceModel, CallbackContext> handle(Outcome outcome);
+    }
+
+    private static final class Outcome {
+        private final String clusterName;
+        private final ResourceHandlerRequest<ResourceModel> request;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final Logger logger = messages::add;
+        private ProgressEvent<ResourceModel, CallbackContext> response;
+
+        private Outcome(final int index) {
+            clusterName = clusterNameOf(index);
+            final ResourceModel model = buildResourceModel();
+            model.setClusterName(clusterName);
+            model.setArn(CLUSTER_ARN_PREFIX + clusterName);
+            request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .clientRequestToken(clusterName)
+                .region("us-west-2")
+                .build();
+        }
+
+        private static String clusterNameOf(final int index) {
+            // fixed width, so no cluster name is a prefix of another one
+            return String.format("%s-%03d", CLUSTER_NAME, index);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HandlerEventsTest extends AbstractTestBase {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    @TempDir
+    Path recordingDirectory;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        // only DescribeClusterV2 is expected, as in a container that already looked the bootstrap brokers up
+        seedBootstrapBrokersCache();
+    }
+
+    @Test
+    public void readHandler_Recording_EmitsPhaseAndApiCallEvents() throws Exception {
+        // Given
+        assumeTrue(jfrAvailable());
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .build();
+        final Path recordingFile = recordingDirectory.resolve("read.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable(JfrEvents.PhaseEvent.class);
+            recording.enable(JfrEvents.ApiCallEvent.class);
+            recording.start();
+            new ReadHandler().handleRequest(proxy, request, new CallbackContext(),
+                new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+                    Collections.singletonList(new ApiCallEventsInterceptor())), logger);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Then
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        final List<String> phases = events.stream()
+            .filter(event -> event.getEventType().getName().endsWith("CallChainPhase"))
+            .map(event -> event.getString("phase"))
+            .collect(Collectors.toList());
+        assertThat(phases).contains("translateToServiceRequest", "makeServiceCall", "done");
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).endsWith("ApiCall");
+            assertThat(event.getString("api")).isEqualTo("DescribeClusterV2");
+            assertThat(event.getString("outcome")).isEqualTo("SUCCESS");
+        });
+    }
+
+    @Test
+    public void profileOperation_Directory_WritesRecording() throws Exception {
+        // Given
+        assumeTrue(jfrAvailable());
+
+        // When
+        final HandlerEvents.Span profile =
+            HandlerEvents.profileOperation(recordingDirectory.toString(), "ReadHandler", logger);
+        HandlerEvents.invocation("ReadHandler", CLIENT_REQUEST_TOKEN).close();
+        profile.close();
+
+        // Then
+        final List<String> files;
+        try (Stream<Path> listing = Files.list(recordingDirectory)) {
+            files = listing.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+        }
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0)).startsWith("ReadHandler-").endsWith(".jfr");
+    }
+
+    @Test
+    public void profileOperation_DirectoryIsFile_LogsFailure() throws Exception {
+        // Given
+        assumeTrue(jfrAvailable());
+        final Path file = Files.createFile(recordingDirectory.resolve("not-a-directory"));
+        final List<String> messages = new ArrayList<>();
+
+        // When
+        HandlerEvents.profileOperation(file.toString(), "ReadHandler", messages::add).close();
+
+        // Then
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0)).startsWith("Writing JFR recording " + file.resolve("ReadHandler-"))
+            .contains(" failed: ");
+    }
+
+    @Test
+    public void profileOperation_NoDirectory_Noop() {
+        assertThat(HandlerEvents.profileOperation(null, "ReadHandler", logger)).isSameAs(HandlerEvents.NOOP);
+    }
+
+    private static boolean jfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HedgedReadsTest {
+    private ExecutorService executor;
+    private CountDownLatch slowAttemptRelease;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        slowAttemptRelease = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tear_down() throws InterruptedException {
+        slowAttemptRelease.countDown();
+        executor.shutdownNow();
+        executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void call_Disabled_RunsOnCallerThread() {
+        // Given
+        final HedgedReads hedgedReads = new HedgedReads(false, executor);
+        final Thread caller = Thread.currentThread();
+
+        // When
+        final Thread attemptThread = hedgedReads.call(Thread::currentThread);
+
+        // Then
+        assertThat(attemptThread).isSameAs(caller);
+    }
+
+    @Test
+    public void call_SlowAttempt_HedgeAnswers() {
+        // Given
+        final HedgedReads hedgedReads = warmedUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        final String result = hedgedReads.call(slowFirstAttempt(attempts));
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void call_BudgetSpent_WaitsForSingleAttempt() {
+        // Given
+        final HedgedReads hedgedReads = warmedUp();
+        hedgedReads.call(slowFirstAttempt(new AtomicInteger()));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        final String result = hedgedReads.call(() -> {
+            attempts.incrementAndGet();
+            sleep(200L);
+            return "primary";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void call_AttemptThreadsBusy_WaitsForSingleAttempt() {
+        // Given
+        executor.shutdownNow();
+        executor = HedgedReads.attemptExecutor(1);
+        final HedgedReads hedgedReads = warmedUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        final String result = hedgedReads.call(() -> {
+            attempts.incrementAndGet();
+            sleep(200L);
+            return "primary";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void call_BothAttemptsFail_Throws() {
+        // Given
+        final HedgedReads hedgedReads = warmedUp();
+
+        // When / Then
+        assertThatThrownBy(() -> hedgedReads.call(() -> {
+            sleep(200L);
+            throw new IllegalStateException("unavailable");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("unavailable");
+    }
+
+    /**
+     * Builds hedged reads that have seen enough fast calls to hedge and earned the budget of a single hedge
+     */
+    private HedgedReads warmedUp() {
+        final HedgedReads hedgedReads = new HedgedReads(true, executor);
+        for (int i = 0; i < Math.max(HedgedReads.MIN_SAMPLES, HedgedReads.BUDGET_CALLS_PER_HEDGE); i++) {
+            hedgedReads.call(() -> "warm");
+        }
+        return hedgedReads;
+    }
+
+    private Supplier<String> slowFirstAttempt(final AtomicInteger attempts) {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    slowAttemptRelease.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "primary";
+            }
+            return "hedge";
+        };
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InterceptingProxyClientTest extends AbstractTestBase {
+    private static final String OTHER_CLUSTER_ARN = "arn:aws:kafka:us-west-2:083674906042:cluster/Other";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_Chain_RunsInOrder() {
+        // Given
+        final List<String> trace = new ArrayList<>();
+        final InterceptingProxyClient proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Arrays.asList(new TracingInterceptor("outer", trace), new TracingInterceptor("inner", trace)));
+
+        // When
+        describe(proxyClient);
+
+        // Then
+        assertThat(trace).containsExactly("outer before DescribeClusterV2", "inner before DescribeClusterV2",
+            "inner after DescribeClusterV2", "outer after DescribeClusterV2");
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ChangedRequest_ReachesMsk() {
+        // Given
+        final InterceptingProxyClient proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(new ServiceCallInterceptor() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+                    final ServiceCall<RequestT, ResponseT> call) {
+                    return call.proceed((RequestT) ((DescribeClusterV2Request) call.request()).toBuilder()
+                        .clusterArn(OTHER_CLUSTER_ARN).build());
+                }
+            }));
+
+        // When
+        describe(proxyClient);
+
+        // Then
+        final ArgumentCaptor<DescribeClusterV2Request> request =
+            ArgumentCaptor.forClass(DescribeClusterV2Request.class);
+        verify(kafkaClient).describeClusterV2(request.capture());
+        assertThat(request.getValue().clusterArn()).isEqualTo(OTHER_CLUSTER_ARN);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ProceedTwice_RunsRestOfChainTwice() {
+        // Given
+        final List<String> trace = new ArrayList<>();
+        final InterceptingProxyClient proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Arrays.asList(new ServiceCallInterceptor() {
+                @Override
+                public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+                    final ServiceCall<RequestT, ResponseT> call) {
+                    call.proceed();
+                    return call.proceed();
+                }
+            }, new TracingInterceptor("inner", trace)));
+
+        // When
+        final DescribeClusterV2Response response = describe(proxyClient);
+
+        // Then
+        assertThat(response.clusterInfo().clusterArn()).isEqualTo(CLUSTER_ARN);
+        assertThat(trace).hasSize(4);
+        verify(kafkaClient, times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_EmptyChain_CallsMsk() {
+        // Given
+        final InterceptingProxyClient proxyClient =
+            new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient), Collections.emptyList());
+
+        // When
+        final DescribeClusterV2Response response = describe(proxyClient);
+
+        // Then
+        assertThat(response.clusterInfo().state()).isEqualTo(ClusterState.ACTIVE);
+        verify(kafkaClient).describeClusterV2(any(DescribeClusterV2Request.class));
+    }
+
+    private static DescribeClusterV2Response describe(final InterceptingProxyClient proxyClient) {
+        return proxyClient.injectCredentialsAndInvokeV2(DescribeClusterV2Request.builder().clusterArn(CLUSTER_ARN)
+            .build(), proxyClient.client()::describeClusterV2);
+    }
+
+    private static final class TracingInterceptor implements ServiceCallInterceptor {
+        private final String name;
+        private final List<String> trace;
+
+        private TracingInterceptor(final String name, final List<String> trace) {
+            this.name = name;
+            this.trace = trace;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT intercept(
+            final ServiceCall<RequestT, ResponseT> call) {
+            trace.add(name + " before " + call.api());
+            final ResponseT response = call.proceed();
+            trace.add(name + " after " + call.api());
+            return response;
+        }
+    }
+}
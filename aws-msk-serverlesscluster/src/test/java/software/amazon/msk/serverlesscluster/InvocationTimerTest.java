@@ -0,0 +1,82 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvocationTimerTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2022-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void sleepIfTimeAllows_WithinBudget_Sleeps() {
+        // Given
+        final List<Duration> sleeps = new ArrayList<>();
+        final InvocationTimer timer = new InvocationTimer(CLOCK, sleeps::add, InvocationTimer.INVOCATION_BUDGET);
+
+        // When
+        final boolean slept = timer.sleepIfTimeAllows(Duration.ofSeconds(30L));
+
+        // Then
+        assertThat(slept).isTrue();
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(30L));
+    }
+
+    @Test
+    public void sleepIfTimeAllows_IntoSafetyMargin_ReturnsWithoutSleeping() {
+        // Given
+        final List<Duration> sleeps = new ArrayList<>();
+        final InvocationTimer timer = new InvocationTimer(CLOCK, sleeps::add, InvocationTimer.INVOCATION_BUDGET);
+
+        // When
+        final boolean slept = timer.sleepIfTimeAllows(
+            InvocationTimer.INVOCATION_BUDGET.minus(InvocationTimer.SAFETY_MARGIN).plusSeconds(1L));
+
+        // Then
+        assertThat(slept).isFalse();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void sleepIfTimeAllows_Interrupted_ReturnsFalse() {
+        // Given
+        final InvocationTimer timer = new InvocationTimer(CLOCK, duration -> {
+            throw new InterruptedException();
+        }, InvocationTimer.INVOCATION_BUDGET);
+
+        // When
+        final boolean slept = timer.sleepIfTimeAllows(Duration.ofSeconds(1L));
+
+        // Then
+        assertThat(slept).isFalse();
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    public void since_EarlierInvocation_CountsWallClockTime() {
+        // Given
+        final InvocationTimer timer = new InvocationTimer(CLOCK, duration -> { }, InvocationTimer.INVOCATION_BUDGET);
+        final long startedAt = CLOCK.millis() - Duration.ofMinutes(90L).toMillis();
+
+        // When
+        final Duration since = timer.since(startedAt);
+
+        // Then
+        assertThat(since).isEqualTo(Duration.ofMinutes(90L));
+        assertThat(timer.since(null)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void parseBudget_Override_ReplacesDefault() {
+        // When & Then
+        assertThat(InvocationTimer.parseBudget(null)).isEqualTo(InvocationTimer.INVOCATION_BUDGET);
+        assertThat(InvocationTimer.parseBudget(" 120 ")).isEqualTo(Duration.ofSeconds(120L));
+        assertThat(InvocationTimer.parseBudget("10")).isEqualTo(InvocationTimer.INVOCATION_BUDGET);
+        assertThat(InvocationTimer.parseBudget("a minute")).isEqualTo(InvocationTimer.INVOCATION_BUDGET);
+    }
+}
@@ -0,0 +1,35 @@
+package software.amazon.msk.serverlesscluster;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Records a JFR file per test into the directory named by the {@value #PROFILE_DIRECTORY_PROPERTY} system property,
+ * e.g. {@code mvn test -Dmsk.jfr.profileDirectory=target/jfr}, so the handler events of a test can be looked at
+ * together with its CPU and allocation samples. Does nothing when the property is not set.
+ */
+public class JfrProfilingExtension implements BeforeEachCallback, AfterEachCallback {
+    static final String PROFILE_DIRECTORY_PROPERTY = "msk.jfr.profileDirectory";
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+        ExtensionContext.Namespace.create(JfrProfilingExtension.class);
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        final String operation = context.getRequiredTestClass().getSimpleName() + "."
+            + context.getRequiredTestMethod().getName();
+        context.getStore(NAMESPACE).put(operation, HandlerEvents.profileOperation(
+            System.getProperty(PROFILE_DIRECTORY_PROPERTY), operation, System.err::println));
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        final String operation = context.getRequiredTestClass().getSimpleName() + "."
+            + context.getRequiredTestMethod().getName();
+        final HandlerEvents.Span profile = context.getStore(NAMESPACE).remove(operation, HandlerEvents.Span.class);
+        if (profile != null) {
+            profile.close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KafkaReadinessProbeTest {
+    private static final String BOOTSTRAP_SERVERS = "localhost:9098";
+    private static final Duration TIMEOUT = Duration.ofMillis(500L);
+
+    private final List<String> logs = new ArrayList<>();
+
+    @Test
+    public void probe_BrokersAnswer_Ready() {
+        // Given
+        final Admin admin = adminAnswering(KafkaFuture.<Collection<Node>>completedFuture(
+            Collections.singletonList(new Node(1, "localhost", 9098))));
+
+        // When
+        final KafkaReadinessProbe.Result result = new KafkaReadinessProbe(true, new Properties(), TIMEOUT,
+            properties -> admin).probe(BOOTSTRAP_SERVERS, logs::add);
+
+        // Then
+        assertThat(result).isEqualTo(KafkaReadinessProbe.Result.READY);
+        verify(admin).close(Duration.ZERO);
+    }
+
+    @Test
+    public void probe_DescribeClusterTimesOut_NotReady() {
+        // Given
+        final KafkaFutureImpl<Collection<Node>> nodes = new KafkaFutureImpl<>();
+        nodes.completeExceptionally(new TimeoutException("Timed out waiting for a node assignment"));
+        final Admin admin = adminAnswering(nodes);
+
+        // When
+        final KafkaReadinessProbe.Result result = new KafkaReadinessProbe(true, new Properties(), TIMEOUT,
+            properties -> admin).probe(BOOTSTRAP_SERVERS, logs::add);
+
+        // Then
+        assertThat(result).isEqualTo(KafkaReadinessProbe.Result.NOT_READY);
+        verify(admin).close(Duration.ZERO);
+    }
+
+    @Test
+    public void probe_ClientNotCreated_Unavailable() {
+        // When
+        final KafkaReadinessProbe.Result result = new KafkaReadinessProbe(true, new Properties(), TIMEOUT,
+            properties -> {
+                throw new KafkaException("Failed to create new KafkaAdminClient");
+            }).probe(BOOTSTRAP_SERVERS, logs::add);
+
+        // Then
+        assertThat(result).isEqualTo(KafkaReadinessProbe.Result.UNAVAILABLE);
+        assertThat(logs).anySatisfy(log -> assertThat(log).contains("Failed to create new KafkaAdminClient"));
+    }
+
+    @Test
+    public void probe_IamAuthNotBundled_UnavailableWithoutClient() {
+        // Given
+        final Properties clientProperties = new Properties();
+        clientProperties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL");
+        clientProperties.put(SaslConfigs.SASL_CLIENT_CALLBACK_HANDLER_CLASS,
+            "software.amazon.msk.auth.iam.IAMClientCallbackHandler");
+        // the build does not bundle aws-msk-iam-auth
+        final String unavailableReason = KafkaReadinessProbe.unavailableReason(clientProperties);
+        final KafkaReadinessProbe probe = new KafkaReadinessProbe(true, clientProperties, TIMEOUT, properties -> {
+            throw new AssertionError("no client is built");
+        }, unavailableReason);
+
+        // When
+        final KafkaReadinessProbe.Result result = probe.probe(BOOTSTRAP_SERVERS, logs::add);
+
+        // Then
+        assertThat(unavailableReason).contains("aws-msk-iam-auth");
+        assertThat(result).isEqualTo(KafkaReadinessProbe.Result.UNAVAILABLE);
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0)).contains("IAMClientCallbackHandler is not on the classpath");
+    }
+
+    @Test
+    public void unavailableReason_Plaintext_None() {
+        // Given
+        final Properties clientProperties = new Properties();
+        clientProperties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "PLAINTEXT");
+        clientProperties.put(SaslConfigs.SASL_CLIENT_CALLBACK_HANDLER_CLASS,
+            "software.amazon.msk.auth.iam.IAMClientCallbackHandler");
+
+        // When & Then
+        assertThat(KafkaReadinessProbe.unavailableReason(clientProperties)).isNull();
+    }
+
+    @Test
+    public void probe_NoBrokerListening_NotReadyWithinTimeout() throws Exception {
+        // Given
+        final int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        final Properties clientProperties = new Properties();
+        clientProperties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "PLAINTEXT");
+        final KafkaReadinessProbe probe = new KafkaReadinessProbe(true, clientProperties, TIMEOUT, Admin::create);
+
+        // When
+        final long startedAt = System.nanoTime();
+        final KafkaReadinessProbe.Result result = probe.probe("127.0.0.1:" + port, logs::add);
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // Then
+        assertThat(result).isEqualTo(KafkaReadinessProbe.Result.NOT_READY);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(10L));
+    }
+
+    @Test
+    public void fromEnvironment_NotEnabled_Disabled() {
+        // the build does not set MSK_KAFKA_READINESS_PROBE
+        assertThat(KafkaReadinessProbe.fromEnvironment().isEnabled()).isFalse();
+    }
+
+    private static Admin adminAnswering(final KafkaFuture<Collection<Node>> nodes) {
+        final DescribeClusterResult describeClusterResult = mock(DescribeClusterResult.class);
+        when(describeClusterResult.nodes()).thenReturn(nodes);
+        final Admin admin = mock(Admin.class);
+        when(admin.describeCluster(any(DescribeClusterOptions.class))).thenReturn(describeClusterResult);
+        return admin;
+    }
+}
@@ -0,0 +1,147 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LifecycleTest extends AbstractTestBase {
+    private static final Duration CREATE_TIME = Duration.ofMinutes(20L);
+    private static final Duration DELETE_TIME = Duration.ofMinutes(10L);
+    private static final Duration POLL_INTERVAL = BaseHandlerStd.STABILIZATION_POLL_INTERVAL;
+
+    private MutableClock clock;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(Instant.parse("2022-01-01T00:00:00Z"));
+    }
+
+    @AfterEach
+    public void tear_down() {
+        // a stabilization that timed out leaves the cluster in flight for the other tests of the container
+        ClusterStatePoller.getInstance().release(CLUSTER_ARN);
+    }
+
+    @Test
+    public void createUpdateDelete_ScriptedTimeline_Succeeds() {
+        // Given
+        final MskTimeline timeline = new MskTimeline(clock, getServerlessCluster(ClusterState.ACTIVE))
+            .creatingFor(CREATE_TIME)
+            .deletingFor(DELETE_TIME);
+        final CallbackLoop loop = new CallbackLoop(clock, timeline);
+        final Instant startedAt = clock.instant();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> created = loop.run(
+            new CreateHandler(loop.invocationTimers(), loop.stabilizationStats()), request(buildResourceModel(), null));
+        final Instant createdAt = clock.instant();
+        final ProgressEvent<ResourceModel, CallbackContext> updated = loop.run(
+            new UpdateHandler(loop.invocationTimers()),
+            request(buildResourceModelWithTags(TAGS_ALTERED), buildResourceModel()));
+        final Instant updatedAt = clock.instant();
+        final ProgressEvent<ResourceModel, CallbackContext> deleted = loop.run(
+            new DeleteHandler(loop.invocationTimers(), loop.stabilizationStats()), request(buildResourceModel(), null));
+
+        // Then
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(created.getResourceModel().getArn()).isEqualTo(CLUSTER_ARN);
+        assertThat(Duration.between(startedAt, createdAt)).isGreaterThanOrEqualTo(CREATE_TIME)
+            .isLessThanOrEqualTo(CREATE_TIME.plus(POLL_INTERVAL));
+
+        assertThat(updated.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(updated.getResourceModel().getTags()).isEqualTo(TAGS_ALTERED);
+        assertThat(updatedAt).isEqualTo(createdAt);
+
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(Duration.between(updatedAt, clock.instant())).isGreaterThanOrEqualTo(DELETE_TIME)
+            .isLessThanOrEqualTo(DELETE_TIME.plus(POLL_INTERVAL));
+
+        final List<MskTimeline.Poll> polls = timeline.polls();
+        assertPolledNoSoonerThanInterval(polls);
+        assertThat(polls.stream().filter(poll -> poll.state == ClusterState.CREATING).count())
+            .isLessThanOrEqualTo(CREATE_TIME.getSeconds() / POLL_INTERVAL.getSeconds());
+        assertThat(polls.stream().filter(poll -> poll.state == ClusterState.DELETING).count())
+            .isLessThanOrEqualTo(DELETE_TIME.getSeconds() / POLL_INTERVAL.getSeconds());
+        assertThat(timeline.callCount("CreateClusterV2")).isEqualTo(1);
+        assertThat(timeline.callCount("TagResource")).isEqualTo(1);
+        assertThat(timeline.callCount("UntagResource")).isEqualTo(1);
+        assertThat(timeline.callCount("DeleteCluster")).isEqualTo(1);
+    }
+
+    @Test
+    public void create_NeverActive_FailsAfterStabilizationTimeout() {
+        // Given
+        final MskTimeline timeline = new MskTimeline(clock, getServerlessCluster(ClusterState.ACTIVE))
+            .creatingFor(Duration.ofDays(1L));
+        final CallbackLoop loop = new CallbackLoop(clock, timeline);
+        final Instant startedAt = clock.instant();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response = loop.run(
+            new CreateHandler(loop.invocationTimers(), loop.stabilizationStats()), request(buildResourceModel(), null));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        // the timeout counts the polls within an invocation as well as the callback delays between invocations
+        final Duration elapsed = Duration.between(startedAt, clock.instant());
+        assertThat(elapsed).isGreaterThan(BaseHandlerStd.STABILIZATION_TIMEOUT_CREATE)
+            .isLessThanOrEqualTo(BaseHandlerStd.STABILIZATION_TIMEOUT_CREATE.plus(InvocationTimer.INVOCATION_BUDGET));
+        final List<MskTimeline.Poll> polls = timeline.polls();
+        assertPolledNoSoonerThanInterval(polls);
+        assertThat((long) polls.size()).isGreaterThanOrEqualTo(
+            BaseHandlerStd.STABILIZATION_TIMEOUT_CREATE.getSeconds() / POLL_INTERVAL.getSeconds());
+        assertThat(timeline.callCount("CreateClusterV2")).isEqualTo(1);
+    }
+
+    @Test
+    public void create_ClusterFails_NotStabilized() {
+        // Given
+        final MskTimeline timeline = new MskTimeline(clock, getServerlessCluster(ClusterState.ACTIVE))
+            .creatingFor(Duration.ofMinutes(10L))
+            .thenState(ClusterState.FAILED);
+        final CallbackLoop loop = new CallbackLoop(clock, timeline);
+        final Instant startedAt = clock.instant();
+
+        // When & Then
+        assertThatThrownBy(() -> loop.run(new CreateHandler(loop.invocationTimers(), loop.stabilizationStats()),
+            request(buildResourceModel(), null))).isInstanceOf(CfnNotStabilizedException.class);
+        assertThat(Duration.between(startedAt, clock.instant())).isGreaterThanOrEqualTo(Duration.ofMinutes(10L))
+            .isLessThanOrEqualTo(Duration.ofMinutes(10L).plus(POLL_INTERVAL));
+        assertThat(timeline.polls().get(timeline.polls().size() - 1).state).isEqualTo(ClusterState.FAILED);
+    }
+
+    /**
+     * A handler that was told the cluster is still changing waits at least a poll interval before asking again
+     */
+    private static void assertPolledNoSoonerThanInterval(final List<MskTimeline.Poll> polls) {
+        for (int i = 1; i < polls.size(); i++) {
+            final MskTimeline.Poll previous = polls.get(i - 1);
+            if (previous.state == ClusterState.CREATING || previous.state == ClusterState.DELETING) {
+                assertThat(Duration.between(previous.at, polls.get(i).at)).isGreaterThanOrEqualTo(POLL_INTERVAL);
+            }
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desiredModel,
+                                                                 final ResourceModel previousModel) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(desiredModel)
+            .previousResourceState(previousModel)
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .build();
+    }
+}
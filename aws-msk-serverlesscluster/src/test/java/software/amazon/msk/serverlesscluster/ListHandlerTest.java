@@ -8,10 +8,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.KafkaException;
@@ -34,7 +36,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
 public class ListHandlerTest extends AbstractTestBase {
 
     @Mock
@@ -95,6 +97,34 @@ public class ListHandlerTest extends AbstractTestBase {
         verify(proxyClient.client(), times(1)).listClustersV2(any(ListClustersV2Request.class));
     }
 
+    @Test
+    public void handleRequest_ClusterNameInModel_FiltersByPrefix() {
+        // Given
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenReturn(ListClustersV2Response.builder().nextToken("next").build());
+        final ResourceModel model = ResourceModel.builder().clusterName("team-a-").build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model)
+                .clientRequestToken(CLIENT_REQUEST_TOKEN).nextToken("previous").build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(25).handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+        assertThat(response.getNextToken()).isEqualTo("next");
+
+        final ArgumentCaptor<ListClustersV2Request> listClustersRequest =
+            ArgumentCaptor.forClass(ListClustersV2Request.class);
+        verify(proxyClient.client()).listClustersV2(listClustersRequest.capture());
+        assertThat(listClustersRequest.getValue().clusterNameFilter()).isEqualTo("team-a-");
+        assertThat(listClustersRequest.getValue().maxResults()).isEqualTo(25);
+        assertThat(listClustersRequest.getValue().nextToken()).isEqualTo("previous");
+        assertThat(listClustersRequest.getValue().clusterTypeFilter()).isEqualTo("SERVERLESS");
+    }
+
     @ParameterizedTest
     @MethodSource("KafkaErrorToCfnError")
     public void handleRequest_Exception(Class<KafkaException> kafkaException, HandlerErrorCode cfnError) {
@@ -121,4 +151,26 @@ public class ListHandlerTest extends AbstractTestBase {
 
         verify(proxyClient.client()).listClustersV2(any(ListClustersV2Request.class));
     }
+
+    @Test
+    public void handleRequest_CallTimedOut_Failed() {
+        // Given
+        when(proxyClient.client().listClustersV2(any(ListClustersV2Request.class)))
+            .thenThrow(ApiCallTimeoutException.create(10000L));
+
+        final ResourceModel model = ResourceModel.builder().build();
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model)
+                .clientRequestToken(CLIENT_REQUEST_TOKEN).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+    }
 }
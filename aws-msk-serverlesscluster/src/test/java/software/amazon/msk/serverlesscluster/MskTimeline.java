@@ -0,0 +1,201 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.DeleteClusterRequest;
+import software.amazon.awssdk.services.kafka.model.DeleteClusterResponse;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersResponse;
+import software.amazon.awssdk.services.kafka.model.NotFoundException;
+import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.TagResourceResponse;
+import software.amazon.awssdk.services.kafka.model.UntagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.UntagResourceResponse;
+
+/**
+ * KafkaClient playing a scripted lifecycle of one serverless cluster on a {@link MutableClock}: once created, the
+ * cluster is CREATING for the scripted time and then ACTIVE, or whatever state was scripted instead; once deleted, it
+ * is DELETING for the scripted time and then gone.
+ *
+ * Every DescribeClusterV2 answer is kept with the virtual time it was given at, so a test can check how often and how
+ * far apart the handlers polled.
+ */
+public class MskTimeline implements KafkaClient {
+    private final MutableClock clock;
+    private final Cluster template;
+    private final Map<String, String> tags = new HashMap<>();
+    private final List<Poll> polls = new ArrayList<>();
+    private final Map<String, Integer> callCounts = new HashMap<>();
+    private Duration creating = Duration.ZERO;
+    private ClusterState createdState = ClusterState.ACTIVE;
+    private Duration deleting = Duration.ZERO;
+    private Instant createdAt;
+    private Instant deletedAt;
+
+    /**
+     * @param clock virtual clock the handlers wait on
+     * @param template cluster answered by DescribeClusterV2, with the state and tags of the timeline
+     */
+    MskTimeline(final MutableClock clock, final Cluster template) {
+        this.clock = clock;
+        this.template = template;
+    }
+
+    /**
+     * @param creating time from the CreateClusterV2 call until the cluster leaves CREATING
+     * @return this timeline
+     */
+    MskTimeline creatingFor(final Duration creating) {
+        this.creating = creating;
+        return this;
+    }
+
+    /**
+     * @param createdState state the cluster reaches after CREATING, ACTIVE unless scripted otherwise
+     * @return this timeline
+     */
+    MskTimeline thenState(final ClusterState createdState) {
+        this.createdState = createdState;
+        return this;
+    }
+
+    /**
+     * @param deleting time from the DeleteCluster call until the cluster is gone
+     * @return this timeline
+     */
+    MskTimeline deletingFor(final Duration deleting) {
+        this.deleting = deleting;
+        return this;
+    }
+
+    /**
+     * @param api name of an MSK api, e.g. DescribeClusterV2
+     * @return number of calls the api received
+     */
+    synchronized int callCount(final String api) {
+        return callCounts.getOrDefault(api, 0);
+    }
+
+    /**
+     * @return every DescribeClusterV2 answer so far, oldest first
+     */
+    synchronized List<Poll> polls() {
+        return new ArrayList<>(polls);
+    }
+
+    @Override
+    public synchronized CreateClusterV2Response createClusterV2(final CreateClusterV2Request createClusterRequest) {
+        count("CreateClusterV2");
+        createdAt = clock.instant();
+        tags.putAll(createClusterRequest.tags());
+        return CreateClusterV2Response.builder()
+            .clusterArn(template.clusterArn())
+            .clusterName(createClusterRequest.clusterName())
+            .state(stateAt(createdAt))
+            .build();
+    }
+
+    @Override
+    public synchronized DeleteClusterResponse deleteCluster(final DeleteClusterRequest deleteClusterRequest) {
+        count("DeleteCluster");
+        final Instant now = clock.instant();
+        if (stateAt(now) == null) {
+            throw notFound();
+        }
+        deletedAt = now;
+        return DeleteClusterResponse.builder().clusterArn(template.clusterArn()).state(stateAt(now)).build();
+    }
+
+    @Override
+    public synchronized DescribeClusterV2Response describeClusterV2(
+        final DescribeClusterV2Request describeClusterRequest) {
+        count("DescribeClusterV2");
+        final Instant now = clock.instant();
+        final ClusterState state = stateAt(now);
+        polls.add(new Poll(now, state));
+        if (state == null) {
+            throw notFound();
+        }
+        return DescribeClusterV2Response.builder()
+            .clusterInfo(template.toBuilder().state(state).tags(new HashMap<>(tags)).build())
+            .build();
+    }
+
+    @Override
+    public synchronized GetBootstrapBrokersResponse getBootstrapBrokers(
+        final GetBootstrapBrokersRequest getBootstrapBrokersRequest) {
+        count("GetBootstrapBrokers");
+        return GetBootstrapBrokersResponse.builder()
+            .bootstrapBrokerStringSaslIam(AbstractTestBase.BOOTSTRAP_SERVERS)
+            .build();
+    }
+
+    @Override
+    public synchronized TagResourceResponse tagResource(final TagResourceRequest tagResourceRequest) {
+        count("TagResource");
+        tags.putAll(tagResourceRequest.tags());
+        return TagResourceResponse.builder().build();
+    }
+
+    @Override
+    public synchronized UntagResourceResponse untagResource(final UntagResourceRequest untagResourceRequest) {
+        count("UntagResource");
+        untagResourceRequest.tagKeys().forEach(tags::remove);
+        return UntagResourceResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return state of the cluster at the given time, null before it was created and after it was deleted
+     */
+    private ClusterState stateAt(final Instant now) {
+        if (createdAt == null) {
+            return null;
+        }
+        if (deletedAt != null) {
+            return now.isBefore(deletedAt.plus(deleting)) ? ClusterState.DELETING : null;
+        }
+        return now.isBefore(createdAt.plus(creating)) ? ClusterState.CREATING : createdState;
+    }
+
+    private void count(final String api) {
+        callCounts.merge(api, 1, Integer::sum);
+    }
+
+    private static NotFoundException notFound() {
+        return NotFoundException.builder().statusCode(404).message("Cluster not found").build();
+    }
+
+    /**
+     * A DescribeClusterV2 answer, with a null state when the cluster was not found
+     */
+    static final class Poll {
+        final Instant at;
+        final ClusterState state;
+
+        private Poll(final Instant at, final ClusterState state) {
+            this.at = at;
+            this.state = state;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package software.amazon.msk.serverlesscluster;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +13,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersResponse;
 import software.amazon.awssdk.services.kafka.model.KafkaException;
 import software.amazon.awssdk.services.kafka.model.NotFoundException;
 import software.amazon.awssdk.services.kafka.model.ServiceUnavailableException;
@@ -31,10 +35,11 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
 public class ReadHandlerTest extends AbstractTestBase {
 
     @Mock
@@ -66,6 +71,7 @@ public class ReadHandlerTest extends AbstractTestBase {
     @Test
     public void handleRequest_SimpleSuccess() {
         // Given
+        seedBootstrapBrokersCache();
         final DescribeClusterV2Response describeClusterResponse =
             DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build();
         when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
@@ -96,6 +102,7 @@ public class ReadHandlerTest extends AbstractTestBase {
             .isEqualTo(request.getDesiredResourceState().getTags());
         assertThat(response.getResourceModel().getArn())
             .isEqualTo(describeClusterResponse.clusterInfo().clusterArn());
+        assertThat(response.getResourceModel().getBootstrapServers()).isEqualTo(BOOTSTRAP_SERVERS);
 
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -105,6 +112,117 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(kafkaClient, atLeastOnce()).serviceName();
     }
 
+    @Test
+    public void handleRequest_BootstrapServersNotCached_LooksUpOnce() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class))).thenReturn(
+            GetBootstrapBrokersResponse.builder().bootstrapBrokerStringSaslIam(BOOTSTRAP_SERVERS).build());
+        final ReadHandler coldHandler = new ReadHandler(InvocationTimer::start, HedgedReads.getInstance(),
+            new BootstrapBrokersCache(Clock.systemUTC()));
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildResourceModel())
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse =
+            coldHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse =
+            coldHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(firstResponse.getResourceModel().getBootstrapServers()).isEqualTo(BOOTSTRAP_SERVERS);
+        assertThat(secondResponse.getResourceModel().getBootstrapServers()).isEqualTo(BOOTSTRAP_SERVERS);
+        verify(proxyClient.client(), times(2)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client(), times(1)).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+    }
+
+    @Test
+    public void handleRequest_GetBootstrapBrokersFails_SucceedsWithoutBootstrapServers() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenThrow(ServiceUnavailableException.builder().statusCode(503).message("unavailable").build())
+            .thenReturn(getBootstrapBrokers());
+        final ReadHandler coldHandler = new ReadHandler(InvocationTimer::start, HedgedReads.getInstance(),
+            new BootstrapBrokersCache(Clock.systemUTC()));
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildResourceModel())
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> failedLookupResponse =
+            coldHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> nextResponse =
+            coldHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(failedLookupResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(failedLookupResponse.getErrorCode()).isNull();
+        assertThat(failedLookupResponse.getResourceModel().getArn()).isEqualTo(CLUSTER_ARN);
+        assertThat(failedLookupResponse.getResourceModel().getBootstrapServers()).isNull();
+        // the failure is not cached, so the next read looks the brokers up again
+        assertThat(nextResponse.getResourceModel().getBootstrapServers()).isEqualTo(BOOTSTRAP_SERVERS);
+        verify(proxyClient.client(), times(2)).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ClusterCreating_NoBootstrapServers() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.CREATING)).build());
+        final ReadHandler coldHandler = new ReadHandler(InvocationTimer::start, HedgedReads.getInstance(),
+            new BootstrapBrokersCache(Clock.systemUTC()));
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildResourceModel())
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .build();
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            coldHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getBootstrapServers()).isNull();
+        verify(proxyClient.client(), times(0)).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+    }
+
+    @Test
+    public void handleRequest_CallTimedOut_Failed() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenThrow(ApiCallAttemptTimeoutException.create(5000L));
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildResourceModel())
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Then
+        assertThat(response).isNotNull();
+        // a Read only ever succeeds or fails, it is not called back
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+
+        verify(proxyClient.client(), atLeastOnce()).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
     @ParameterizedTest
     @MethodSource("KafkaErrorToCfnError")
     public void handleRequest_Exception(Class<KafkaException> kafkaException, HandlerErrorCode cfnError) {
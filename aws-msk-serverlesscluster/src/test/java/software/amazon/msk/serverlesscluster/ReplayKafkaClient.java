@@ -0,0 +1,146 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.DeleteClusterRequest;
+import software.amazon.awssdk.services.kafka.model.DeleteClusterResponse;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersResponse;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Request;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.TagResourceResponse;
+import software.amazon.awssdk.services.kafka.model.UntagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.UntagResourceResponse;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * KafkaClient serving the interactions of a {@link TrafficRecording} instead of calling MSK, for benchmarks and
+ * regression tests of handler latency and api call counts without network access.
+ *
+ * A call is answered by the first unused recorded interaction of the same api whose request has the same members.
+ * Once those are used up, the last one keeps answering, so a replay that polls more often than the recorded run still
+ * sees the final state. Every answer takes the recorded duration multiplied by the time scale: 1 replays in real time,
+ * 0.01 a hundred times faster, 0 without waiting.
+ */
+public class ReplayKafkaClient implements KafkaClient {
+    private final Map<String, List<TrafficRecording.Interaction>> interactionsByApi = new HashMap<>();
+    private final Map<TrafficRecording.Interaction, Boolean> used = new HashMap<>();
+    private final Map<String, Integer> callCounts = new HashMap<>();
+    private final double timeScale;
+
+    ReplayKafkaClient(final List<TrafficRecording.Interaction> interactions, final double timeScale) {
+        for (final TrafficRecording.Interaction interaction : interactions) {
+            interactionsByApi.computeIfAbsent(interaction.api, api -> new ArrayList<>()).add(interaction);
+        }
+        this.timeScale = timeScale;
+    }
+
+    static ReplayKafkaClient fromFile(final Path file, final double timeScale) throws IOException {
+        return new ReplayKafkaClient(TrafficRecording.read(file), timeScale);
+    }
+
+    /**
+     * @param api name of an MSK api, e.g. DescribeClusterV2
+     * @return number of calls the api received
+     */
+    synchronized int callCount(final String api) {
+        return callCounts.getOrDefault(api, 0);
+    }
+
+    @Override
+    public CreateClusterV2Response createClusterV2(final CreateClusterV2Request createClusterRequest) {
+        return replay(createClusterRequest, CreateClusterV2Response.builder());
+    }
+
+    @Override
+    public DeleteClusterResponse deleteCluster(final DeleteClusterRequest deleteClusterRequest) {
+        return replay(deleteClusterRequest, DeleteClusterResponse.builder());
+    }
+
+    @Override
+    public DescribeClusterV2Response describeClusterV2(final DescribeClusterV2Request describeClusterRequest) {
+        return replay(describeClusterRequest, DescribeClusterV2Response.builder());
+    }
+
+    @Override
+    public GetBootstrapBrokersResponse getBootstrapBrokers(
+        final GetBootstrapBrokersRequest getBootstrapBrokersRequest) {
+        return replay(getBootstrapBrokersRequest, GetBootstrapBrokersResponse.builder());
+    }
+
+    @Override
+    public ListClustersV2Response listClustersV2(final ListClustersV2Request listClustersRequest) {
+        return replay(listClustersRequest, ListClustersV2Response.builder());
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest tagResourceRequest) {
+        return replay(tagResourceRequest, TagResourceResponse.builder());
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest untagResourceRequest) {
+        return replay(untagResourceRequest, UntagResourceResponse.builder());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private <B extends SdkPojo & SdkBuilder<B, R>, R> R replay(final AwsRequest request, final B responseBuilder) {
+        final TrafficRecording.Interaction interaction = nextInteraction(ServiceCall.apiOf(request),
+            SdkPojoJson.write(request));
+        try {
+            Thread.sleep((long) (interaction.durationMillis * timeScale));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("Interrupted while replaying " + interaction.api).cause(e)
+                .build();
+        }
+        if (interaction.error != null) {
+            throw TrafficRecording.readError(interaction.error);
+        }
+        return SdkPojoJson.read(interaction.response, responseBuilder).build();
+    }
+
+    private synchronized TrafficRecording.Interaction nextInteraction(final String api, final ObjectNode request) {
+        callCounts.merge(api, 1, Integer::sum);
+        TrafficRecording.Interaction lastMatch = null;
+        for (final TrafficRecording.Interaction interaction : interactionsByApi.getOrDefault(api,
+            new ArrayList<>())) {
+            if (!interaction.request.equals(request)) {
+                continue;
+            }
+            if (!used.containsKey(interaction)) {
+                used.put(interaction, Boolean.TRUE);
+                return interaction;
+            }
+            lastMatch = interaction;
+        }
+        if (lastMatch == null) {
+            throw new IllegalStateException(String.format("No recorded %s call for request %s", api, request));
+        }
+        return lastMatch;
+    }
+}
@@ -0,0 +1,95 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class ResourceModelValidatorTest extends AbstractTestBase {
+
+    private static Stream<Arguments> invalidModels() {
+        final ResourceModel missingName = buildResourceModel();
+        missingName.setClusterName(null);
+
+        final ResourceModel longName = buildResourceModel();
+        longName.setClusterName(String.join("", Collections.nCopies(65, "a")));
+
+        final ResourceModel badName = buildResourceModel();
+        badName.setClusterName("-cluster_name");
+
+        final ResourceModel noVpcConfigs = buildResourceModel();
+        noVpcConfigs.setVpcConfigs(Collections.emptySet());
+
+        final ResourceModel oneSubnet = buildResourceModel();
+        oneSubnet.setVpcConfigs(Sets.newHashSet(VpcConfig.builder()
+            .subnetIds(Sets.newHashSet("subnet-0123456789abcdef0")).build()));
+
+        final ResourceModel malformedSubnet = buildResourceModel();
+        malformedSubnet.setVpcConfigs(Sets.newHashSet(VpcConfig.builder()
+            .subnetIds(Sets.newHashSet("subnet-0123456789abcdef0", "Subnets")).build()));
+
+        final ResourceModel malformedSecurityGroup = buildResourceModel();
+        malformedSecurityGroup.setVpcConfigs(Sets.newHashSet(VpcConfig.builder()
+            .subnetIds(SUBNET_IDS).securityGroups(Sets.newHashSet("SecurityGroup")).build()));
+
+        final ResourceModel sharedSubnet = buildResourceModel();
+        sharedSubnet.setVpcConfigs(Sets.newHashSet(
+            VpcConfig.builder().subnetIds(SUBNET_IDS).build(),
+            VpcConfig.builder().subnetIds(Sets.newHashSet("subnet-0123456789abcdef0", "subnet-11111111")).build()));
+
+        final ResourceModel iamDisabled = buildResourceModel();
+        iamDisabled.setClientAuthentication(ClientAuthentication.builder()
+            .sasl(Sasl.builder().iam(Iam.builder().enabled(false).build()).build()).build());
+
+        final ResourceModel missingIam = buildResourceModel();
+        missingIam.setClientAuthentication(ClientAuthentication.builder().sasl(Sasl.builder().build()).build());
+
+        final Map<String, String> reservedTags = new HashMap<>();
+        reservedTags.put("aws:owner", "value");
+        final ResourceModel reservedTag = buildResourceModelWithTags(reservedTags);
+
+        final Map<String, String> invalidTags = new HashMap<>();
+        invalidTags.put("key#1", "value");
+        final ResourceModel invalidTagKey = buildResourceModelWithTags(invalidTags);
+
+        return Stream.of(
+            arguments(missingName, "ClusterName is required"),
+            arguments(longName, "ClusterName must be between"),
+            arguments(badName, "must start with a letter or digit"),
+            arguments(noVpcConfigs, "at least one VpcConfig"),
+            arguments(oneSubnet, "at least 2 SubnetIds"),
+            arguments(malformedSubnet, "malformed subnet id Subnets"),
+            arguments(malformedSecurityGroup, "malformed security group id SecurityGroup"),
+            arguments(sharedSubnet, "used by more than one VpcConfig"),
+            arguments(iamDisabled, "Iam.Enabled to be true"),
+            arguments(missingIam, "ClientAuthentication.Sasl.Iam is required"),
+            arguments(reservedTag, "reserved prefix"),
+            arguments(invalidTagKey, "Tags key key#1 does not match pattern"));
+    }
+
+    @Test
+    public void validateForCreate_ValidModel() {
+        assertThat(ResourceModelValidator.validateForCreate(buildResourceModel())).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidModels")
+    public void validateForCreate_InvalidModel(final ResourceModel model, final String expectedViolation) {
+        // When
+        final List<String> violations = ResourceModelValidator.validateForCreate(model);
+
+        // Then
+        assertThat(violations).hasSize(1);
+        assertThat(violations.get(0)).contains(expectedViolation);
+    }
+}
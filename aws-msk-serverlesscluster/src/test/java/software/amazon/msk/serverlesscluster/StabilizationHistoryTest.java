@@ -0,0 +1,118 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizationHistoryTest {
+    private static final String REGION = "us-west-2";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    public void setup() {
+        file = directory.resolve(StabilizationHistory.DEFAULT_FILE_NAME);
+    }
+
+    @Test
+    public void open_ExistingFile_RestoresEntriesInOrder() throws Exception {
+        // Given
+        final StabilizationHistory history = StabilizationHistory.open(file);
+        history.append(REGION, StabilizationStats.Operation.CREATE, 300L);
+        history.append(REGION, StabilizationStats.Operation.DELETE, 120L);
+        history.append("eu-west-1", StabilizationStats.Operation.CREATE, 280L);
+
+        // When
+        final List<StabilizationHistory.Entry> entries = StabilizationHistory.open(file).entries();
+
+        // Then
+        assertThat(entries).extracting(entry -> entry.region + "/" + entry.operation + "/" + entry.seconds)
+            .containsExactly("us-west-2/CREATE/300", "us-west-2/DELETE/120", "eu-west-1/CREATE/280");
+        assertThat(Files.size(file)).isEqualTo((long) StabilizationHistory.HEADER_SIZE
+            + (long) StabilizationHistory.CAPACITY * StabilizationHistory.RECORD_SIZE);
+    }
+
+    @Test
+    public void append_BeyondCapacity_KeepsMostRecent() throws Exception {
+        // Given
+        final StabilizationHistory history = StabilizationHistory.open(file);
+
+        // When
+        for (int i = 1; i <= StabilizationHistory.CAPACITY + 10; i++) {
+            history.append(REGION, StabilizationStats.Operation.CREATE, i);
+        }
+
+        // Then
+        final List<StabilizationHistory.Entry> entries = StabilizationHistory.open(file).entries();
+        assertThat(entries).hasSize(StabilizationHistory.CAPACITY);
+        assertThat(entries.get(0).seconds).isEqualTo(11L);
+        assertThat(entries.get(entries.size() - 1).seconds).isEqualTo(StabilizationHistory.CAPACITY + 10L);
+        assertThat(Files.size(file)).isEqualTo((long) StabilizationHistory.HEADER_SIZE
+            + (long) StabilizationHistory.CAPACITY * StabilizationHistory.RECORD_SIZE);
+    }
+
+    @Test
+    public void open_TornRecord_SkipsIt() throws Exception {
+        // Given
+        final StabilizationHistory history = StabilizationHistory.open(file);
+        history.append(REGION, StabilizationStats.Operation.CREATE, 300L);
+        history.append(REGION, StabilizationStats.Operation.CREATE, 310L);
+        history.append(REGION, StabilizationStats.Operation.CREATE, 320L);
+        // a crash in the middle of writing the second record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}),
+                StabilizationHistory.HEADER_SIZE + 2L * StabilizationHistory.RECORD_SIZE + 20L);
+        }
+
+        // When
+        final StabilizationHistory reopened = StabilizationHistory.open(file);
+        reopened.append(REGION, StabilizationStats.Operation.CREATE, 330L);
+
+        // Then
+        assertThat(reopened.entries().stream().map(entry -> entry.seconds).collect(Collectors.toList()))
+            .containsExactly(300L, 320L, 330L);
+    }
+
+    @Test
+    public void open_ForeignFile_Resets() throws Exception {
+        // Given
+        Files.write(file, new byte[] {'n', 'o', 't', ' ', 'a', ' ', 'h', 'i', 's', 't', 'o', 'r', 'y'});
+
+        // When
+        final StabilizationHistory history = StabilizationHistory.open(file);
+
+        // Then
+        assertThat(history.entries()).isEmpty();
+        history.append(REGION, StabilizationStats.Operation.DELETE, 60L);
+        assertThat(StabilizationHistory.open(file).entries()).hasSize(1);
+    }
+
+    @Test
+    public void stabilizationStats_Restarted_UsesPersistedDurations() throws Exception {
+        // Given
+        final StabilizationStats stats = new StabilizationStats(StabilizationHistory.open(file));
+        for (int i = 0; i < StabilizationStats.MIN_SAMPLES; i++) {
+            stats.record(REGION, StabilizationStats.Operation.DELETE, Duration.ofMinutes(4L));
+        }
+
+        // When
+        final StabilizationStats restarted = new StabilizationStats(StabilizationHistory.open(file));
+
+        // Then
+        assertThat(restarted.firstPollDelay(REGION, StabilizationStats.Operation.DELETE, Duration.ofSeconds(30L)))
+            .isEqualTo(Duration.ofMinutes(4L));
+    }
+}
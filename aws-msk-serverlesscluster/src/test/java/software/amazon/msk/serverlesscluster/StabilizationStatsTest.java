@@ -0,0 +1,80 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizationStatsTest extends AbstractTestBase {
+    private static final String REGION = "us-west-2";
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(30L);
+
+    private StabilizationStats stats;
+
+    @BeforeEach
+    public void setup() {
+        stats = new StabilizationStats();
+    }
+
+    @Test
+    public void firstPollDelay_NoObservations_UsesPollInterval() {
+        assertThat(stats.firstPollDelay(REGION, StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(POLL_INTERVAL);
+    }
+
+    @Test
+    public void firstPollDelay_TooFewObservations_UsesPollInterval() {
+        // Given
+        stats.record(REGION, StabilizationStats.Operation.CREATE, Duration.ofMinutes(5L));
+
+        // When & Then
+        assertThat(stats.firstPollDelay(REGION, StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(POLL_INTERVAL);
+    }
+
+    @Test
+    public void firstPollDelay_UsesLowPercentileOfObservations() {
+        // Given
+        for (long minutes = 3L; minutes <= 12L; minutes++) {
+            stats.record(REGION, StabilizationStats.Operation.CREATE, Duration.ofMinutes(minutes));
+        }
+
+        // When & Then
+        assertThat(stats.firstPollDelay(REGION, StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(Duration.ofMinutes(3L));
+        assertThat(stats.firstPollDelay("eu-west-1", StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(POLL_INTERVAL);
+        assertThat(stats.firstPollDelay(REGION, StabilizationStats.Operation.DELETE, POLL_INTERVAL))
+            .isEqualTo(POLL_INTERVAL);
+    }
+
+    @Test
+    public void firstPollDelay_CappedAndFloored() {
+        // Given
+        final StabilizationStats slowStats = new StabilizationStats();
+        for (int i = 0; i < StabilizationStats.MIN_SAMPLES; i++) {
+            stats.record(REGION, StabilizationStats.Operation.CREATE, Duration.ofSeconds(5L));
+            slowStats.record(REGION, StabilizationStats.Operation.CREATE, Duration.ofHours(2L));
+        }
+
+        // When & Then
+        assertThat(stats.firstPollDelay(REGION, StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(POLL_INTERVAL);
+        assertThat(slowStats.firstPollDelay(REGION, StabilizationStats.Operation.CREATE, POLL_INTERVAL))
+            .isEqualTo(StabilizationStats.MAX_FIRST_POLL_DELAY);
+    }
+
+    @Test
+    public void stabilizationDelay_FirstDelayThenIntervalUntilTimeout() {
+        // Given
+        final StabilizationDelay delay =
+            new StabilizationDelay(Duration.ofMinutes(4L), POLL_INTERVAL, Duration.ofMinutes(5L));
+
+        // When & Then
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofMinutes(4L));
+        assertThat(delay.nextDelay(2)).isEqualTo(POLL_INTERVAL);
+        assertThat(delay.nextDelay(3)).isEqualTo(POLL_INTERVAL);
+        assertThat(delay.nextDelay(4)).isEqualTo(Duration.ZERO);
+    }
+}
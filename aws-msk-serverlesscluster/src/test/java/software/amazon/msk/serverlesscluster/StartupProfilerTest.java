@@ -0,0 +1,91 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupProfilerTest extends AbstractTestBase {
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    private final AtomicLong loadedClasses = new AtomicLong(1_000L);
+    private final List<String> reports = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+    }
+
+    @Test
+    public void intercept_FirstCall_ReportsSubsystemsOnce() {
+        // Given
+        final StartupProfiler profiler = new StartupProfiler(true, System.currentTimeMillis(), loadedClasses::get,
+            reports::add);
+        profiler.time("kafkaClient", () -> loadedClasses.addAndGet(250L));
+        profiler.time("stabilizationStats", () -> loadedClasses.addAndGet(5L));
+        profiler.handlerEntered();
+        final InterceptingProxyClient proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(profiler));
+
+        // When
+        describe(proxyClient);
+        describe(proxyClient);
+
+        // Then
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0))
+            .contains("\"classesAtHandler\":1255")
+            .contains("\"firstCall\":{\"api\":\"DescribeClusterV2\"")
+            .contains("\"kafkaClient\":{\"millis\":")
+            .contains("\"classes\":250}")
+            .contains("\"classes\":5}");
+        assertThat(profiler.awaitingFirstCall()).isFalse();
+    }
+
+    @Test
+    public void time_Disabled_OnlyInitializes() {
+        // Given
+        final StartupProfiler profiler = new StartupProfiler(false, 0L, loadedClasses::get, reports::add);
+        final InterceptingProxyClient proxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(profiler));
+
+        // When
+        final String initialized = profiler.time("kafkaClient", () -> "client");
+        describe(proxyClient);
+
+        // Then
+        assertThat(initialized).isEqualTo("client");
+        assertThat(profiler.awaitingFirstCall()).isFalse();
+        assertThat(reports).isEmpty();
+    }
+
+    private static DescribeClusterV2Response describe(final InterceptingProxyClient proxyClient) {
+        return proxyClient.injectCredentialsAndInvokeV2(DescribeClusterV2Request.builder().clusterArn(CLUSTER_ARN)
+            .build(), proxyClient.client()::describeClusterV2);
+    }
+}
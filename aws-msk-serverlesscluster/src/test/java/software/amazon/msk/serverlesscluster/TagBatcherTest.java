@@ -0,0 +1,155 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.TagResourceResponse;
+import software.amazon.awssdk.services.kafka.model.TooManyRequestsException;
+import software.amazon.awssdk.services.kafka.model.UntagResourceRequest;
+import software.amazon.awssdk.services.kafka.model.UntagResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TagBatcherTest extends AbstractTestBase {
+    private static final int TAG_COUNT = 120;
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<KafkaClient> proxyClient;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        proxyClient = MOCK_PROXY(proxy, kafkaClient);
+        // one thread, so chunks run in key order
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tear_down() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void chunksOf_SkipsCompletedKeys() {
+        // When
+        final List<List<String>> chunks = TagBatcher.chunksOf(tags().keySet(),
+            new HashSet<>(Collections.singletonList("tag-000")));
+
+        // Then
+        assertThat(chunks).extracting(List::size).containsExactly(50, 50, 19);
+        assertThat(chunks.get(0).get(0)).isEqualTo("tag-001");
+        assertThat(chunks.get(2).get(18)).isEqualTo("tag-119");
+    }
+
+    @Test
+    public void tag_LargeTagSet_SendsChunks() {
+        // Given
+        when(kafkaClient.tagResource(any(TagResourceRequest.class))).thenReturn(TagResourceResponse.builder().build());
+        final CallbackContext callbackContext = new CallbackContext();
+
+        // When
+        new TagBatcher(executor).tag(tagRequest(), proxyClient, callbackContext);
+
+        // Then
+        final ArgumentCaptor<TagResourceRequest> requests = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(kafkaClient, times(3)).tagResource(requests.capture());
+        assertThat(requests.getAllValues()).allSatisfy(request ->
+            assertThat(request.tags()).hasSizeLessThanOrEqualTo(TagBatcher.MAX_KEYS_PER_CALL));
+        assertThat(callbackContext.getAddedTagKeys()).hasSize(TAG_COUNT);
+    }
+
+    @Test
+    public void tag_ThrottledChunk_ResumesFromRemainingChunks() {
+        // Given
+        when(kafkaClient.tagResource(any(TagResourceRequest.class))).thenAnswer(invocation -> {
+            if (invocation.<TagResourceRequest>getArgument(0).tags().containsKey("tag-050")) {
+                throw TooManyRequestsException.builder().message("throttled").build();
+            }
+            return TagResourceResponse.builder().build();
+        });
+        final CallbackContext callbackContext = new CallbackContext();
+        final TagBatcher tagBatcher = new TagBatcher(executor);
+        assertThatThrownBy(() -> tagBatcher.tag(tagRequest(), proxyClient, callbackContext))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(callbackContext.getAddedTagKeys()).hasSize(TagBatcher.MAX_KEYS_PER_CALL);
+
+        final KafkaClient retryKafkaClient = mock(KafkaClient.class);
+        when(retryKafkaClient.tagResource(any(TagResourceRequest.class)))
+            .thenReturn(TagResourceResponse.builder().build());
+
+        // When
+        tagBatcher.tag(tagRequest(), MOCK_PROXY(proxy, retryKafkaClient), callbackContext);
+
+        // Then
+        final ArgumentCaptor<TagResourceRequest> requests = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(retryKafkaClient, times(2)).tagResource(requests.capture());
+        assertThat(requests.getAllValues()).allSatisfy(request ->
+            assertThat(request.tags()).doesNotContainKey("tag-000"));
+        assertThat(callbackContext.getAddedTagKeys()).hasSize(TAG_COUNT);
+    }
+
+    @Test
+    public void untag_SmallTagSet_SendsOneCall() {
+        // Given
+        when(kafkaClient.untagResource(any(UntagResourceRequest.class)))
+            .thenReturn(UntagResourceResponse.builder().build());
+        final CallbackContext callbackContext = new CallbackContext();
+
+        // When
+        new TagBatcher(executor).untag(UntagResourceRequest.builder().resourceArn(CLUSTER_ARN)
+            .tagKeys("key2", "key1").build(), proxyClient, callbackContext);
+
+        // Then
+        final ArgumentCaptor<UntagResourceRequest> request = ArgumentCaptor.forClass(UntagResourceRequest.class);
+        verify(kafkaClient).untagResource(request.capture());
+        assertThat(request.getValue().tagKeys()).containsExactly("key1", "key2");
+        assertThat(callbackContext.getRemovedTagKeys()).containsExactlyInAnyOrder("key1", "key2");
+    }
+
+    private static TagResourceRequest tagRequest() {
+        return TagResourceRequest.builder().resourceArn(CLUSTER_ARN).tags(tags()).build();
+    }
+
+    private static Map<String, String> tags() {
+        final Map<String, String> tags = new TreeMap<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.put(String.format("tag-%03d", i), "value-" + i);
+        }
+        return tags;
+    }
+}
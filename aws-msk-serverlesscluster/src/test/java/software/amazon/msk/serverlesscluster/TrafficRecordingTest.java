@@ -0,0 +1,171 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.kafka.KafkaClient;
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.NotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrafficRecordingTest extends AbstractTestBase {
+    private static final String MISSING_CLUSTER_ARN = CLUSTER_ARN + "-missing";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    KafkaClient kafkaClient;
+
+    @TempDir
+    Path recordingDirectory;
+
+    private ReadHandler handler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        kafkaClient = mock(KafkaClient.class);
+        // only DescribeClusterV2 is expected, as in a container that already looked the bootstrap brokers up
+        seedBootstrapBrokersCache();
+        handler = new ReadHandler();
+    }
+
+    @Test
+    public void recordThenReplay_ServesRecordedOutcomes() throws Exception {
+        // Given
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenAnswer(invocation -> {
+            if (MISSING_CLUSTER_ARN.equals(invocation.<DescribeClusterV2Request>getArgument(0).clusterArn())) {
+                throw NotFoundException.builder().statusCode(404).message("Cluster not found").build();
+            }
+            return DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build();
+        });
+        final Path recordingFile = recordingDirectory.resolve("traffic.jsonl.gz");
+        final TrafficRecorder recorder = TrafficRecorder.open(recordingFile);
+        final InterceptingProxyClient recordingProxyClient = new InterceptingProxyClient(
+            MOCK_PROXY(proxy, kafkaClient), Collections.singletonList(new RecordingInterceptor(recorder, logger)));
+        final ProgressEvent<ResourceModel, CallbackContext> recordedRead = read(recordingProxyClient, CLUSTER_ARN);
+        final ProgressEvent<ResourceModel, CallbackContext> recordedMissingRead =
+            read(recordingProxyClient, MISSING_CLUSTER_ARN);
+        recorder.close();
+
+        // When
+        final ReplayKafkaClient replayKafkaClient = ReplayKafkaClient.fromFile(recordingFile, 0.0);
+        final ProgressEvent<ResourceModel, CallbackContext> replayedRead =
+            read(MOCK_PROXY(proxy, replayKafkaClient), CLUSTER_ARN);
+        final ProgressEvent<ResourceModel, CallbackContext> replayedMissingRead =
+            read(MOCK_PROXY(proxy, replayKafkaClient), MISSING_CLUSTER_ARN);
+
+        // Then
+        assertThat(TrafficRecording.read(recordingFile)).hasSize(2);
+        assertThat(replayedRead.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayedRead.getResourceModel()).isEqualTo(recordedRead.getResourceModel());
+        assertThat(recordedMissingRead.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(replayedMissingRead.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(replayKafkaClient.callCount("DescribeClusterV2")).isEqualTo(2);
+    }
+
+    @Test
+    public void read_UnclosedRecording_KeepsFlushedInteractions() throws Exception {
+        // Given
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        final Path recordingFile = recordingDirectory.resolve("unclosed.jsonl.gz");
+        final TrafficRecorder recorder = TrafficRecorder.open(recordingFile);
+
+        // When
+        read(new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(new RecordingInterceptor(recorder, logger))), CLUSTER_ARN);
+        final List<TrafficRecording.Interaction> interactions = TrafficRecording.read(recordingFile);
+
+        // Then
+        assertThat(interactions).hasSize(1);
+        assertThat(interactions.get(0).api).isEqualTo("DescribeClusterV2");
+        assertThat(interactions.get(0).request.get("ClusterArn").asText()).isEqualTo(CLUSTER_ARN);
+        recorder.close();
+    }
+
+    @Test
+    public void read_WriteFails_LogsOnceAndAnswers() {
+        // Given
+        when(kafkaClient.describeClusterV2(any(DescribeClusterV2Request.class))).thenReturn(
+            DescribeClusterV2Response.builder().clusterInfo(getServerlessCluster(ClusterState.ACTIVE)).build());
+        final TrafficRecorder recorder = new TrafficRecorder(new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) throws IOException {
+                throw new IOException("No space left on device");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 0L);
+        final List<String> messages = new ArrayList<>();
+        final InterceptingProxyClient recordingProxyClient = new InterceptingProxyClient(MOCK_PROXY(proxy, kafkaClient),
+            Collections.singletonList(new RecordingInterceptor(recorder, messages::add)));
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> first = read(recordingProxyClient, CLUSTER_ARN);
+        final ProgressEvent<ResourceModel, CallbackContext> second = read(recordingProxyClient, CLUSTER_ARN);
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(messages).containsExactly("Traffic recording stopped: No space left on device");
+    }
+
+    @Test
+    public void sdkPojoJson_Cluster_RoundTrips() {
+        // Given
+        final Cluster cluster = getServerlessCluster(ClusterState.CREATING).toBuilder()
+            .creationTime(Instant.parse("2022-01-01T00:00:00.123Z"))
+            .build();
+
+        // When
+        final Cluster roundTripped = SdkPojoJson.read(SdkPojoJson.write(cluster), Cluster.builder()).build();
+
+        // Then
+        assertThat(roundTripped).isEqualTo(cluster);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> read(
+        final ProxyClient<KafkaClient> proxyClient, final String clusterArn) {
+        final ResourceModel model = buildResourceModel();
+        model.setArn(clusterArn);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .build();
+        return handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+    }
+}
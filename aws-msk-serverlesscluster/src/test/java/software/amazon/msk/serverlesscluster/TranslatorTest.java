@@ -0,0 +1,73 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.kafka.model.Cluster;
+import software.amazon.awssdk.services.kafka.model.ClusterState;
+import software.amazon.awssdk.services.kafka.model.CreateClusterV2Request;
+import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
+import software.amazon.awssdk.services.kafka.model.ListClustersV2Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TranslatorTest extends AbstractTestBase {
+
+    @Test
+    public void translateFromReadResponse_ServerlessCluster_MatchesModel() {
+        // Given
+        final DescribeClusterV2Response response = DescribeClusterV2Response.builder()
+            .clusterInfo(getServerlessCluster(ClusterState.ACTIVE))
+            .build();
+
+        // When
+        final ResourceModel model = Translator.translateFromReadResponse(response);
+
+        // Then
+        assertThat(model).isEqualTo(buildResourceModel());
+    }
+
+    @Test
+    public void translateFromReadResponse_SingleSecurityGroupAndNoSubnets_TranslatesSets() {
+        // Given
+        final Cluster cluster = getServerlessCluster(ClusterState.ACTIVE);
+        final DescribeClusterV2Response response = DescribeClusterV2Response.builder()
+            .clusterInfo(cluster.toBuilder()
+                .serverless(cluster.serverless().toBuilder()
+                    .vpcConfigs(software.amazon.awssdk.services.kafka.model.VpcConfig.builder()
+                        .securityGroupIds("sg-0123456789abcdef0")
+                        .build())
+                    .build())
+                .build())
+            .build();
+
+        // When
+        final ResourceModel model = Translator.translateFromReadResponse(response);
+
+        // Then
+        assertThat(model.getVpcConfigs()).containsExactly(VpcConfig.builder()
+            .securityGroups(Collections.singleton("sg-0123456789abcdef0"))
+            .subnetIds(Collections.emptySet())
+            .build());
+    }
+
+    @Test
+    public void translateToCreateRequest_Model_CopiesVpcConfigs() {
+        // When
+        final CreateClusterV2Request request = Translator.translateToCreateRequest(buildResourceModel());
+
+        // Then
+        assertThat(request.serverless().vpcConfigs()).isEqualTo(VPC_CONFIG_LIST_RESPONSE);
+        assertThat(request.serverless().clientAuthentication()).isEqualTo(CLIENT_AUTHENTICATION_RESPONSE);
+        assertThat(request.tags()).isEqualTo(TAGS);
+    }
+
+    @Test
+    public void translateFromListResponse_NoClusters_Empty() {
+        // When
+        final ListClustersV2Response response = ListClustersV2Response.builder().build();
+
+        // Then
+        assertThat(Translator.translateFromListResponse(response)).isEmpty();
+    }
+}
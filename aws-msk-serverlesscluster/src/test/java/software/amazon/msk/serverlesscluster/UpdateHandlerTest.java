@@ -13,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.services.kafka.KafkaClient;
 import software.amazon.awssdk.services.kafka.model.BadRequestException;
 import software.amazon.awssdk.services.kafka.model.Cluster;
@@ -20,11 +21,13 @@ import software.amazon.awssdk.services.kafka.model.ClusterState;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Request;
 import software.amazon.awssdk.services.kafka.model.DescribeClusterV2Response;
 import software.amazon.awssdk.services.kafka.model.ForbiddenException;
+import software.amazon.awssdk.services.kafka.model.GetBootstrapBrokersRequest;
 import software.amazon.awssdk.services.kafka.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafka.model.KafkaException;
 import software.amazon.awssdk.services.kafka.model.ServiceUnavailableException;
 import software.amazon.awssdk.services.kafka.model.TagResourceRequest;
 import software.amazon.awssdk.services.kafka.model.TagResourceResponse;
+import software.amazon.awssdk.services.kafka.model.TooManyRequestsException;
 import software.amazon.awssdk.services.kafka.model.UnauthorizedException;
 import software.amazon.awssdk.services.kafka.model.UntagResourceRequest;
 import software.amazon.awssdk.services.kafka.model.UntagResourceResponse;
@@ -47,7 +50,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, JfrProfilingExtension.class})
 public class UpdateHandlerTest extends AbstractTestBase {
 
     @Mock
@@ -98,6 +101,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
             DescribeClusterV2Response.builder().clusterInfo(desiredCluster).build();
         when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
             .thenReturn(describeClusterResponse);
+        when(proxyClient.client().getBootstrapBrokers(any(GetBootstrapBrokersRequest.class)))
+            .thenReturn(getBootstrapBrokers());
 
         // When
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -131,6 +136,33 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).untagResource(any(UntagResourceRequest.class));
         verify(proxyClient.client()).tagResource(any(TagResourceRequest.class));
         verify(proxyClient.client(), times(1)).describeClusterV2(any(DescribeClusterV2Request.class));
+        verify(proxyClient.client()).getBootstrapBrokers(any(GetBootstrapBrokersRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_ReadTimedOut_InProgress() {
+        // Given
+        when(proxyClient.client().describeClusterV2(any(DescribeClusterV2Request.class)))
+            .thenThrow(ApiCallAttemptTimeoutException.create(5000L));
+
+        // When
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .previousResourceState(buildResourceModel())
+            .desiredResourceState(buildResourceModel())
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = updateHandler.handleRequest(proxy, request,
+            new CallbackContext(), proxyClient, logger);
+
+        // Then
+        // the read closing an update is retried on a callback of the update
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds())
+            .isEqualTo(BaseHandlerStd.CALL_TIMEOUT_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getErrorCode()).isNull();
+
+        verify(proxyClient.client(), atLeastOnce()).describeClusterV2(any(DescribeClusterV2Request.class));
         verify(kafkaClient, atLeastOnce()).serviceName();
     }
 
@@ -212,4 +244,58 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client(), times(0)).untagResource(any(UntagResourceRequest.class));
         verify(kafkaClient, atLeastOnce()).serviceName();
     }
+
+    @Test
+    public void handleRequest_tagRequestThrottled_InProgressWithBackoff() {
+        // Given
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+            .thenThrow(TooManyRequestsException.builder().message("throttled").build());
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setTagThrottledAttempts(2);
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            updateHandler.handleRequest(proxy, tagRequest(), callbackContext, proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds())
+            .isEqualTo(UpdateHandler.TAG_THROTTLED_CALLBACK_DELAY_SECONDS * 4);
+        assertThat(response.getCallbackContext().getTagThrottledAttempts()).isEqualTo(3);
+        assertThat(response.getErrorCode()).isNull();
+
+        verify(proxyClient.client()).tagResource(any(TagResourceRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_tagRequestThrottledTooOften_FailsWithThrottling() {
+        // Given
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+            .thenThrow(TooManyRequestsException.builder().message("throttled").build());
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setTagThrottledAttempts(UpdateHandler.TAG_THROTTLED_MAX_ATTEMPTS);
+
+        // When
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            updateHandler.handleRequest(proxy, tagRequest(), callbackContext, proxyClient, logger);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+
+        verify(proxyClient.client()).tagResource(any(TagResourceRequest.class));
+        verify(kafkaClient, atLeastOnce()).serviceName();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> tagRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .previousResourceState(buildResourceModel())
+            .desiredResourceState(buildResourceModelWithTags(TAGS_ADDED))
+            .clientRequestToken(CLIENT_REQUEST_TOKEN)
+            .previousResourceTags(TAGS)
+            .desiredResourceTags(TAGS_ADDED)
+            .build();
+    }
 }
@@ -0,0 +1,115 @@
+package software.amazon.msk.serverlesscluster;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmHandlerServerTest extends AbstractTestBase {
+
+    private static final WarmHandlerServer.RequestHandler ECHO_HANDLER = (input, output) ->
+        output.write(("{\"echo\":" + IOUtils.toString(input, StandardCharsets.UTF_8) + "}")
+            .getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void serve_Stdin_FramesEveryResponse() throws IOException {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final WarmHandlerServer server = new WarmHandlerServer((input, output) -> {
+            calls.incrementAndGet();
+            ECHO_HANDLER.handleRequest(input, output);
+        }, new WarmServerStats(42L));
+
+        // When
+        final String output = serve(server, "{\"action\":\"READ\"}\n\n{\"action\":\"LIST\"}\n");
+
+        // Then
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(output).isEqualTo(framed("{\"echo\":{\"action\":\"READ\"}}")
+            + framed("{\"echo\":{\"action\":\"LIST\"}}"));
+    }
+
+    @Test
+    public void serve_HandlerFails_RespondsWithFailedEvent() throws IOException {
+        // Given
+        final WarmHandlerServer server = new WarmHandlerServer((input, output) -> {
+            throw new IllegalStateException("handler \"broke\"");
+        }, new WarmServerStats(42L));
+
+        // When
+        final String output = serve(server, "{}\n");
+
+        // Then
+        assertThat(output).isEqualTo(framed(
+            "{\"status\":\"FAILED\",\"errorCode\":\"InternalFailure\",\"message\":\"handler \\\"broke\\\"\"}"));
+    }
+
+    @Test
+    public void serve_StatsCommand_ReportsLatencies() throws IOException {
+        // Given
+        final WarmHandlerServer server = new WarmHandlerServer(ECHO_HANDLER, new WarmServerStats(42L));
+
+        // When
+        final String output = serve(server, "{}\n{}\n" + WarmHandlerServer.STATS_COMMAND + "\n");
+
+        // Then
+        assertThat(output).contains("\"startupMillis\":42,\"requests\":2,\"failures\":0,\"p50Millis\":");
+    }
+
+    @Test
+    public void serve_Socket_ServesConnections() throws Exception {
+        // Given
+        final WarmHandlerServer server = new WarmHandlerServer(ECHO_HANDLER, new WarmServerStats(42L));
+        final ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        final Thread serverThread = new Thread(() -> {
+            try {
+                server.serve(serverSocket);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        serverThread.start();
+
+        // When
+        final String response;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort())) {
+            final OutputStream socketOutput = socket.getOutputStream();
+            final PrintWriter writer = new PrintWriter(socketOutput, true);
+            writer.println("{\"action\":\"READ\"}");
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8));
+            response = reader.readLine() + System.lineSeparator() + reader.readLine() + System.lineSeparator()
+                + reader.readLine() + System.lineSeparator();
+        } finally {
+            serverSocket.close();
+            serverThread.join(10_000L);
+        }
+
+        // Then
+        assertThat(response).isEqualTo(framed("{\"echo\":{\"action\":\"READ\"}}"));
+        assertThat(serverThread.isAlive()).isFalse();
+    }
+
+    private static String serve(final WarmHandlerServer server, final String requests) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        server.serve(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String framed(final String response) {
+        return WarmHandlerServer.RESPONSE_START + System.lineSeparator() + response + System.lineSeparator()
+            + WarmHandlerServer.RESPONSE_END + System.lineSeparator();
+    }
+}